@@ -20,9 +20,9 @@ export function useApi() {
   // Hilfsfunktion für Authorization Header
   const getAuthHeaders = () => {
     const authStore = useAuthStore()
-    if (authStore.credentials) {
+    if (authStore.token) {
       return {
-        'Authorization': `Basic ${authStore.credentials}`
+        'Authorization': `Bearer ${authStore.token}`
       }
     }
     return {}
@@ -34,12 +34,19 @@ export function useApi() {
         const queryParams = buildQueryParams(filters || {})
         return `${getBaseUrl()}/cars/available${queryParams ? `?${queryParams}` : ''}`
       },
+      // Serverseitige Suche mit Filtern, Sortierung, Seiten und Facetten
+      search: (params: Record<string, string | null | undefined>) => {
+        const queryParams = buildQueryParams(params)
+        return `${getBaseUrl()}/cars/search${queryParams ? `?${queryParams}` : ''}`
+      },
       getById: (id: string) => `${getBaseUrl()}/cars/${id}`,
       book: (id: string) => `${getBaseUrl()}/bookings`
     },
     bookings: {
       // Bookings für den aktuellen Benutzer abrufen
-      list: () => `${getBaseUrl()}/bookings/user/${useAuthStore().user?.userId}`,
+      // Seitenweise (Keyset): nextCursor der vorigen Seite als after übergeben
+      list: (after?: number | null) =>
+        `${getBaseUrl()}/bookings/user/${useAuthStore().user?.userId}${after != null ? `?after=${after}` : ''}`,
       getById: (id: string) => `${getBaseUrl()}/bookings/${id}`,
       cancel: (id: string) => `${getBaseUrl()}/bookings/${id}`
     },
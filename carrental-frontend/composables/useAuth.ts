@@ -70,8 +70,7 @@ export function useAuth() {
       const response = await fetch(`${api.getBaseUrl()}/users/login`, {
         method: 'POST',
         headers: {
-          'Content-Type': 'application/json',
-          'Authorization': `Basic ${btoa('admin:master')}`
+          'Content-Type': 'application/json'
         },
         body: JSON.stringify({
           username,
@@ -81,8 +80,8 @@ export function useAuth() {
 
       if (response.status === 200) {
         const data = await response.json()
-        // userId aus Response speichern
-        authStore.setAuth(username, password, data.userId)
+        // Token und userId aus Response speichern
+        authStore.setAuth(data.token, username, data.userId)
         return { user: authStore.user, ...data }
       }
 
@@ -103,11 +102,11 @@ export function useAuth() {
 
   const getUser = async () => {
     try {
-      if (!process.client || !authStore.credentials || !authStore.user?.userId) return null
+      if (!process.client || !authStore.token || !authStore.user?.userId) return null
 
       // Nutze den vorhandenen Endpunkt /users/{id}
       const response = await fetch(`${api.getBaseUrl()}/users/${authStore.user.userId}`, {
-        headers: { 'Authorization': `Basic ${authStore.credentials}` }
+        headers: { 'Authorization': `Bearer ${authStore.token}` }
       })
 
       if (!response.ok) {
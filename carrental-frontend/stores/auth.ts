@@ -3,8 +3,9 @@ import { ref, computed } from 'vue'
 
 export const useAuthStore = defineStore('auth', () => {
   // Daten aus localStorage laden
-  const credentials = ref<string | null>(
-    process.client ? localStorage.getItem('auth_credentials') : null
+  // Access-Token aus dem Login (wird als Bearer-Token gesendet)
+  const token = ref<string | null>(
+    process.client ? localStorage.getItem('auth_token') : null
   )
   
   const user = ref<any>(
@@ -13,15 +14,15 @@ export const useAuthStore = defineStore('auth', () => {
       : null
   )
 
-  const isAuthenticated = computed(() => !!credentials.value)
+  const isAuthenticated = computed(() => !!token.value)
 
-  function setAuth(username: string, password: string, userId: number) {
-    credentials.value = btoa(`${username}:${password}`)
+  function setAuth(accessToken: string, username: string, userId: number) {
+    token.value = accessToken
     user.value = { username, userId }
     
     // Im localStorage speichern
     if (process.client) {
-      localStorage.setItem('auth_credentials', credentials.value)
+      localStorage.setItem('auth_token', accessToken)
       localStorage.setItem('auth_user', JSON.stringify(user.value))
     }
   }
@@ -40,17 +41,17 @@ export const useAuthStore = defineStore('auth', () => {
   }
 
   function clearAuth() {
-    credentials.value = null
+    token.value = null
     user.value = null
     
     if (process.client) {
-      localStorage.removeItem('auth_credentials')
+      localStorage.removeItem('auth_token')
       localStorage.removeItem('auth_user')
     }
   }
 
   return { 
-    credentials, 
+    token, 
     user, 
     isAuthenticated, 
     setAuth, 
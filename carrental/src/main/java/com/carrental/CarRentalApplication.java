@@ -2,13 +2,16 @@ package com.carrental;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the Car Rental service.
  * <p>
  * Boots up the Spring context and starts the embedded server.
+ * Scheduling is enabled for background maintenance tasks such as exchange-rate refreshes.
  */
 @SpringBootApplication
+@EnableScheduling
 public class CarRentalApplication {
 
     /**
@@ -0,0 +1,73 @@
+package com.carrental.config;
+
+import com.carrental.model.User;
+import com.carrental.repository.UserRepository;
+import com.carrental.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests carrying an <code>Authorization: Bearer &lt;token&gt;</code> header.
+ * <p>
+ * The token's signature and expiry are verified by the {@link TokenService}; there is no
+ * password check. The user is then reloaded by ID – a hit in the second-level cache unless
+ * the user changed – so tokens of a deleted user stop working at once and the request is
+ * authorized with the user's current role rather than the one in the token. A request with
+ * an invalid or expired token, or of a user that no longer exists, is rejected with 401;
+ * requests without a bearer token are passed on unchanged, so HTTP Basic keeps working.
+ */
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final UserRepository userRepo;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param tokenService service verifying the presented tokens
+     * @param userRepo     repository the token's user is reloaded from
+     */
+    public BearerTokenAuthenticationFilter(TokenService tokenService, UserRepository userRepo) {
+        this.tokenService = tokenService;
+        this.userRepo = userRepo;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        User user = tokenService.verify(header.substring(PREFIX.length()).trim())
+                .flatMap(claims -> userRepo.findById(claims.userId()))
+                .orElse(null);
+        if (user == null) {
+            SecurityContextHolder.clearContext();
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token");
+            return;
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                user.getUsername(), null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getUserRole().name()))));
+        SecurityContextHolder.setContext(context);
+        chain.doFilter(request, response);
+    }
+}
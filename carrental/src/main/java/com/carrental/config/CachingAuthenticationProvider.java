@@ -0,0 +1,146 @@
+package com.carrental.config;
+
+import com.carrental.model.UserChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers successful username/password authentications for a short time.
+ * <p>
+ * Clients that keep sending HTTP Basic credentials would otherwise pay a user query and a
+ * password hash on every request. Successful authentications are cached under a salted
+ * SHA-256 hash of username and password – the credentials themselves are not kept – for
+ * <code>auth.basic-cache.ttl</code>, with at most <code>auth.basic-cache.max-entries</code>
+ * entries. Failed attempts are never cached, so wrong passwords always take the slow path.
+ * <p>
+ * Entries of a user are evicted once a {@link UserChangedEvent} for them has been
+ * committed. An authentication that was already running when the change happened does
+ * not store its result, so it cannot bring back the old password or role. Cache hits and
+ * misses are counted as <code>auth.basic.cache</code>.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+    private final byte[] salt = new byte[16];
+    private final Map<String, CachedPrincipal> cache = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Constructs the caching provider.
+     *
+     * @param delegate      provider performing the actual user lookup and password check
+     * @param ttl           how long a successful authentication is remembered
+     * @param maxEntries    maximum number of remembered authentications
+     * @param meterRegistry registry for the hit and miss counters
+     */
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, int maxEntries,
+                                         MeterRegistry meterRegistry) {
+        this(delegate, ttl, maxEntries, meterRegistry, Clock.systemUTC());
+    }
+
+    CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, int maxEntries,
+                                  MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        new SecureRandom().nextBytes(salt);
+        this.hits = Counter.builder("auth.basic.cache")
+                .description("HTTP Basic authentications by cache outcome")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("auth.basic.cache")
+                .description("HTTP Basic authentications by cache outcome")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Object credentials = authentication.getCredentials();
+        if (credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+        String key = key(authentication.getName(), credentials.toString());
+        Instant now = clock.instant();
+        CachedPrincipal cached = cache.get(key);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            hits.increment();
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    cached.principal(), null, cached.principal().getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        misses.increment();
+        long evictionsBefore = evictions.get();
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.getPrincipal() instanceof UserDetails principal
+                && evictions.get() == evictionsBefore && hasRoom(now)) {
+            cache.put(key, new CachedPrincipal(principal, now.plus(ttl)));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * Forgets the authentications of a user after a change to the user has been committed.
+     *
+     * @param event the updated or deleted user
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evictions.incrementAndGet();
+        cache.values().removeIf(entry -> entry.principal().getUsername().equals(event.username()));
+    }
+
+    private boolean hasRoom(Instant now) {
+        if (cache.size() < maxEntries) {
+            return true;
+        }
+        cache.values().removeIf(entry -> !now.isBefore(entry.expiresAt()));
+        return cache.size() < maxEntries;
+    }
+
+    private String key(String username, String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(username.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record CachedPrincipal(UserDetails principal, Instant expiresAt) {}
+}
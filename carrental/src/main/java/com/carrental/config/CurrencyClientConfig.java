@@ -0,0 +1,41 @@
+package com.carrental.config;
+
+import com.carrental.integration.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configuration for the resilience settings of the currency converter integration.
+ * <p>
+ * Values are read from the <code>currency.soap.circuit-breaker.*</code> properties.
+ */
+@Configuration
+public class CurrencyClientConfig {
+
+    /**
+     * Provides the {@link CircuitBreaker} guarding calls to the SOAP currency service.
+     *
+     * @param failureRateThreshold failure percentage at which the breaker opens
+     * @param windowSize           number of most recent calls evaluated
+     * @param minimumCalls         calls required before the failure rate is evaluated
+     * @param openDuration         how long the breaker fails fast before probing again
+     * @param halfOpenCalls        probe calls allowed while half-open
+     * @return the configured CircuitBreaker
+     */
+    @Bean
+    @ConditionalOnProperty(name = "currency.provider", havingValue = "soap", matchIfMissing = true)
+    public CircuitBreaker currencyServiceCircuitBreaker(
+            @Value("${currency.soap.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${currency.soap.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${currency.soap.circuit-breaker.minimum-calls:5}") int minimumCalls,
+            @Value("${currency.soap.circuit-breaker.open-duration:PT30S}") Duration openDuration,
+            @Value("${currency.soap.circuit-breaker.half-open-calls:2}") int halfOpenCalls) {
+        return new CircuitBreaker("currency-service", failureRateThreshold, windowSize,
+                minimumCalls, openDuration, halfOpenCalls, Clock.systemUTC());
+    }
+}
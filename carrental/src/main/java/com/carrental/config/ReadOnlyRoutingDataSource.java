@@ -0,0 +1,27 @@
+package com.carrental.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link javax.sql.DataSource} that hands out replica connections to read-only
+ * transactions and primary connections to everything else.
+ * <p>
+ * The read-only flag of a transaction is only known after the transaction manager has
+ * begun it, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers
+ * the routing decision to the first statement.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    /** Lookup key of the primary (read-write) data source. */
+    public static final String PRIMARY = "primary";
+
+    /** Lookup key of the replica (read-only) data source. */
+    public static final String REPLICA = "replica";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+    }
+}
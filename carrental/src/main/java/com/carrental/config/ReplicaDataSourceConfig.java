@@ -0,0 +1,95 @@
+package com.carrental.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Configuration for sending read-only transactions to a read replica.
+ * <p>
+ * Active only when <code>datasource.replica.url</code> is set. The primary pool is built
+ * from the regular <code>spring.datasource.*</code> properties; the replica pool uses the
+ * same pool settings with the replica URL and, if given, its own credentials. Everything
+ * else keeps using the single auto-configured data source.
+ * <p>
+ * Replicas may lag behind the primary, so reads that must see a write of the same
+ * request belong in a read-write transaction.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Provides the connection pool of the primary database.
+     *
+     * @param properties the <code>spring.datasource.*</code> properties
+     * @return the primary pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Provides the connection pool of the read replica.
+     *
+     * @param properties the <code>spring.datasource.*</code> properties
+     * @param url        JDBC URL of the replica
+     * @param username   replica user, defaults to the primary user
+     * @param password   replica password, defaults to the primary password
+     * @return the replica pool, handing out read-only connections
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Provides the data source used by JPA and all repositories, routing read-only
+     * transactions to the replica.
+     *
+     * @param primary the primary pool
+     * @param replica the replica pool
+     * @return the routing data source, resolving connections on first use
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReadOnlyRoutingDataSource routing = new ReadOnlyRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                ReadOnlyRoutingDataSource.PRIMARY, primary,
+                ReadOnlyRoutingDataSource.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -3,6 +3,9 @@ package com.carrental.config;
 
 import com.carrental.model.User;
 import com.carrental.repository.UserRepository;
+import com.carrental.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,11 +13,15 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.security.crypto.password.*;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
 import java.util.List;
 
 
@@ -30,14 +37,17 @@ import java.util.List;
 public class SecurityConfig {
 
     private final UserRepository userRepo;
+    private final TokenService tokenService;
 
     /**
-     * Constructs the SecurityConfig with the given UserRepository.
+     * Constructs the SecurityConfig with the given UserRepository and TokenService.
      *
-     * @param userRepo repository for accessing user data
+     * @param userRepo     repository for accessing user data
+     * @param tokenService service verifying bearer tokens
      */
-    public SecurityConfig(UserRepository userRepo) {
+    public SecurityConfig(UserRepository userRepo, TokenService tokenService) {
         this.userRepo = userRepo;
+        this.tokenService = tokenService;
     }
 
     /**
@@ -77,24 +87,35 @@ public class SecurityConfig {
 
     /**
      * Configures the {@link DaoAuthenticationProvider} with the
-     * {@link UserDetailsService} and {@link PasswordEncoder}.
+     * {@link UserDetailsService} and {@link PasswordEncoder}, behind a
+     * {@link CachingAuthenticationProvider} so that repeated HTTP Basic requests
+     * skip the user lookup and the password check.
      *
-     * @return the configured DaoAuthenticationProvider
+     * @param ttl           how long a successful authentication is remembered
+     * @param maxEntries    maximum number of remembered authentications
+     * @param meterRegistry registry for the cache metrics
+     * @return the configured authentication provider
      */
     @Bean
-    public DaoAuthenticationProvider authProvider() {
+    public CachingAuthenticationProvider authProvider(
+            @Value("${auth.basic-cache.ttl:PT2M}") Duration ttl,
+            @Value("${auth.basic-cache.max-entries:1000}") int maxEntries,
+            MeterRegistry meterRegistry) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService());
         provider.setPasswordEncoder(passwordEncoder());
-        return provider;
+        return new CachingAuthenticationProvider(provider, ttl, maxEntries, meterRegistry);
     }
 
     /**
      * Configures the HTTP security filter chain.
      * <p>
-     * Disables CSRF, enables HTTP Basic authentication, and defines authorization rules:
+     * Disables CSRF and server-side sessions, accepts bearer tokens issued by
+     * <code>/api/v1/users/login</code> as well as HTTP Basic authentication, and defines
+     * authorization rules:
      * <ul>
      *   <li>Allow POST requests to <code>/api/v1/users</code> for user registration.</li>
+     *   <li>Allow POST requests to <code>/api/v1/users/login</code>, which checks the credentials itself.</li>
      *   <li>Require authentication for DELETE requests to <code>/bookings/**</code>.</li>
      *   <li>Permit all for static resources (<code>/static/**</code>), root (<code>/</code>), and <code>/index.html</code>.</li>
      *   <li>Require authentication for all other requests.</li>
@@ -108,8 +129,10 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new BearerTokenAuthenticationFilter(tokenService, userRepo), BasicAuthenticationFilter.class)
                 .authorizeHttpRequests(authz -> authz
-                        .requestMatchers(HttpMethod.POST, "/api/v1/users").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/users", "/api/v1/users/login").permitAll()
                         .requestMatchers(HttpMethod.DELETE, "/bookings/**").authenticated()
                         .requestMatchers("/static/**", "/", "/index.html").permitAll()
                         .anyRequest().authenticated()
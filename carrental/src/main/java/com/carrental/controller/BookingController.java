@@ -1,13 +1,20 @@
 package com.carrental.controller;
 
+import com.carrental.dto.BookingBatchResultDto;
 import com.carrental.dto.BookingDto;
+import com.carrental.dto.BookingPageDto;
 import com.carrental.dto.BookingRequestDto;
+import com.carrental.service.BookingBatchService;
+import com.carrental.service.BookingExportService;
 import com.carrental.service.BookingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,42 +29,104 @@ public class BookingController {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingController.class);
     private final BookingService bookingService;
+    private final BookingBatchService bookingBatchService;
+    private final BookingExportService bookingExportService;
 
     /**
-     * Constructs a new {@code BookingController} with the given {@link BookingService}.
+     * Constructs a new {@code BookingController} with the given booking services.
      *
-     * @param bookingService the service responsible for booking operations
+     * @param bookingService       the service responsible for booking operations
+     * @param bookingBatchService  the service creating many bookings at once
+     * @param bookingExportService the service exporting all bookings
      */
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService,
+                             BookingBatchService bookingBatchService,
+                             BookingExportService bookingExportService) {
         this.bookingService = bookingService;
+        this.bookingBatchService = bookingBatchService;
+        this.bookingExportService = bookingExportService;
     }
 
     /**
-     * Retrieves all bookings.
+     * Retrieves all bookings, one page at a time.
+     * <p>
+     * Pages are ordered by booking ID; pass the {@code nextCursor} of a page as
+     * {@code after} to fetch the following one.
      *
-     * @return list of all {@link BookingDto}
+     * @param after ID of the last booking of the previous page; omitted for the first page
+     * @param limit maximum number of bookings per page; capped by the server
+     * @return a {@link BookingPageDto} with the bookings of the page
      */
     @GetMapping
-    public List<BookingDto> getAllBookings() {
-        logger.info("Fetching all bookings");
-        List<BookingDto> bookings = bookingService.getAllBookingDtos();
-        if (bookings.isEmpty()) {
-            logger.warn("No bookings found in the database");
+    public BookingPageDto getAllBookings(@RequestParam(required = false) Integer after,
+                                         @RequestParam(required = false) Integer limit) {
+        logger.info("Fetching bookings after {}", after);
+        BookingPageDto page = bookingService.getBookingPage(after, limit);
+        if (page.items().isEmpty()) {
+            logger.warn("No bookings found after {}", after);
         } else {
-            logger.debug("Found {} bookings", bookings.size());
+            logger.debug("Found {} bookings", page.items().size());
         }
-        return bookings;
+        return page;
     }
 
     /**
-     * Retrieves all bookings for a specific user.
+     * Retrieves the bookings of a specific user, one page at a time.
      *
      * @param userId the ID of the user whose bookings are to be retrieved
-     * @return list of {@link BookingDto} for the specified user
+     * @param after  ID of the last booking of the previous page; omitted for the first page
+     * @param limit  maximum number of bookings per page; capped by the server
+     * @return a {@link BookingPageDto} with the user's bookings of the page
      */
     @GetMapping("/user/{userId}")
-    public List<BookingDto> getBookingsByUser(@PathVariable Integer userId) {
-        return bookingService.getBookingDtosByUser(userId);
+    public BookingPageDto getBookingsByUser(@PathVariable Integer userId,
+                                            @RequestParam(required = false) Integer after,
+                                            @RequestParam(required = false) Integer limit) {
+        return bookingService.getBookingPageByUser(userId, after, limit);
+    }
+
+    /**
+     * Exports all bookings as newline-delimited JSON, one {@link BookingDto} per line.
+     * <p>
+     * The response is streamed while the bookings are read from the database,
+     * so it can be used for the full booking history.
+     *
+     * @return a {@link ResponseEntity} streaming the bookings as {@code application/x-ndjson}
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings() {
+        logger.info("Exporting all bookings");
+        StreamingResponseBody body = bookingExportService::writeNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.ndjson\"")
+                .body(body);
+    }
+
+    /**
+     * Retrieves an archived booking by its ID.
+     *
+     * @param id the ID of the booking to retrieve
+     * @return the archived {@link BookingDto} with the given ID
+     */
+    @GetMapping("/archive/{id}")
+    public BookingDto getArchivedBooking(@PathVariable Integer id) {
+        return bookingService.getArchivedBookingDto(id);
+    }
+
+    /**
+     * Retrieves the archived bookings of a specific user, one page at a time.
+     *
+     * @param userId the ID of the user whose archived bookings are to be retrieved
+     * @param after  ID of the last booking of the previous page; omitted for the first page
+     * @param limit  maximum number of bookings per page; capped by the server
+     * @return a {@link BookingPageDto} with the user's archived bookings of the page
+     */
+    @GetMapping("/archive/user/{userId}")
+    public BookingPageDto getArchivedBookingsByUser(@PathVariable Integer userId,
+                                                    @RequestParam(required = false) Integer after,
+                                                    @RequestParam(required = false) Integer limit) {
+        return bookingService.getArchivedBookingPageByUser(userId, after, limit);
     }
 
     /**
@@ -83,6 +152,22 @@ public class BookingController {
         return bookingService.createBooking(req);
     }
 
+    /**
+     * Creates several bookings at once.
+     * <p>
+     * Entries that cannot be booked are skipped; the response reports the outcome
+     * of every entry, in the order they were submitted.
+     *
+     * @param requests the booking requests
+     * @return one {@link BookingBatchResultDto} per request
+     */
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBookings(@RequestBody List<BookingRequestDto> requests) {
+        List<BookingBatchResultDto> results = bookingBatchService.createBookings(requests);
+        logger.debug("Processed batch of {} bookings", results.size());
+        return results;
+    }
+
     /**
      * Deletes a booking by its ID.
      *
@@ -1,9 +1,13 @@
 package com.carrental.controller;
 
 import com.carrental.dto.AvailableCarDto;
+import com.carrental.dto.CarCalendarDto;
+import com.carrental.dto.CarSearchRequestDto;
+import com.carrental.dto.CarSearchResultDto;
 import org.springframework.format.annotation.DateTimeFormat;
 import java.time.LocalDate;
 import com.carrental.dto.CarDto;
+import com.carrental.service.CarSearchService;
 import com.carrental.service.CarService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,21 +18,25 @@ import java.util.List;
  * REST controller for car operations.
  * <p>
  * Provides endpoints to list available cars, book and return cars,
- * and query availability within a date range and currency.
+ * query availability within a date range and currency, search the fleet with facets,
+ * and read a car's booking calendar.
  */
 @RestController
 @RequestMapping("/api/v1/cars")
 public class CarController {
 
     private final CarService carService;
+    private final CarSearchService carSearchService;
 
     /**
-     * Constructs a new {@code CarController} with the given {@link CarService}.
+     * Constructs a new {@code CarController} with the given services.
      *
-     * @param carService service handling car-related business logic
+     * @param carService       service handling car-related business logic
+     * @param carSearchService service searching the fleet
      */
-    public CarController(CarService carService) {
+    public CarController(CarService carService, CarSearchService carSearchService) {
         this.carService = carService;
+        this.carSearchService = carSearchService;
     }
 
     /**
@@ -81,6 +89,36 @@ public class CarController {
         return carService.getAvailableBetween(from, to, currency);
     }
 
+    /**
+     * Searches the available cars by make, fuel type, transmission, pickup location,
+     * year and price, optionally limited to cars free in a date range.
+     * <p>
+     * Example: <code>/search?fuelType=HYBRID&amp;pickupLocation=Vienna&amp;maxPrice=80&amp;currency=EUR&amp;sort=price,desc&amp;page=0&amp;size=20</code>
+     *
+     * @param req the search parameters
+     * @return the {@link CarSearchResultDto} with one page of cars and the facet counts
+     */
+    @GetMapping("/search")
+    public CarSearchResultDto search(@ModelAttribute CarSearchRequestDto req) {
+        return carSearchService.search(req);
+    }
+
+    /**
+     * Retrieves the days on which a car is booked, for the frontend date picker.
+     *
+     * @param id   the ID of the car
+     * @param from the first day of the calendar (ISO date format)
+     * @param to   the last day of the calendar (ISO date format)
+     * @return the {@link CarCalendarDto} listing the booked days in the range
+     */
+    @GetMapping("/{id}/calendar")
+    public CarCalendarDto getCalendar(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return carService.getCalendar(id, from, to);
+    }
+
     /**
      * Retrieves the car with the specified ID.
      *
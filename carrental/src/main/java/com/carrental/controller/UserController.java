@@ -91,16 +91,18 @@ public class UserController {
 
     /**
      * Authenticates a user using username and password.
+     * <p>
+     * Later requests can send the returned token as a bearer token instead of
+     * repeating the credentials.
      *
      * @param loginRequest the login request containing username and password
-     * @return a {@link LoginResponseDto} containing the authenticated user's ID
+     * @return a {@link LoginResponseDto} containing the authenticated user's ID and access token
      * @throws ResponseStatusException with status 401 (Unauthorized) if credentials are invalid
      */
     @PostMapping("/login")
     public LoginResponseDto login(@RequestBody LoginRequestDto loginRequest) {
         try {
-            Integer userId = userService.login(loginRequest.username(), loginRequest.password());
-            return new LoginResponseDto(userId);
+            return userService.login(loginRequest.username(), loginRequest.password());
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
         }
@@ -0,0 +1,17 @@
+package com.carrental.dto;
+
+/**
+ * Data Transfer Object representing the outcome of one entry of a batch booking request.
+ *
+ * @param index   position of the entry in the submitted batch, starting at 0
+ * @param status  HTTP status the entry would have received as a single request
+ *                (201 created, 400 invalid, 404 unknown user or car, 409 car not available)
+ * @param booking the created booking, or {@code null} if the entry was rejected
+ * @param error   reason the entry was rejected, or {@code null} if it was created
+ */
+public record BookingBatchResultDto(
+        int index,
+        int status,
+        BookingDto booking,
+        String error
+) {}
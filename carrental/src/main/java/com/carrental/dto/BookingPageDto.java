@@ -0,0 +1,15 @@
+package com.carrental.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing one page of a keyset-paginated booking listing.
+ *
+ * @param items      bookings of this page, ordered by ascending ID
+ * @param nextCursor value to pass as {@code after} to fetch the next page,
+ *                   or {@code null} if this is the last page
+ */
+public record BookingPageDto(
+        List<BookingDto> items,
+        Integer nextCursor
+) {}
@@ -0,0 +1,19 @@
+package com.carrental.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object representing the booking calendar of a car.
+ *
+ * @param carId      unique identifier of the car
+ * @param from       first day covered by the calendar (inclusive)
+ * @param to         last day covered by the calendar (inclusive)
+ * @param bookedDays days within the range on which the car is booked, in ascending order
+ */
+public record CarCalendarDto(
+        Integer carId,
+        LocalDate from,
+        LocalDate to,
+        List<LocalDate> bookedDays
+) {}
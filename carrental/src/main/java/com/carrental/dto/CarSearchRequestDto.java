@@ -0,0 +1,45 @@
+package com.carrental.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object holding the parameters of a car search.
+ * <p>
+ * All filters are optional; list parameters may be repeated to accept several values.
+ *
+ * @param make           accepted makes
+ * @param fuelType       accepted fuel types (e.g., "GAS", "ELECTRIC")
+ * @param automatic      {@code true} for automatic, {@code false} for manual transmission
+ * @param pickupLocation accepted pickup locations
+ * @param minYear        earliest manufacturing year (inclusive)
+ * @param maxYear        latest manufacturing year (inclusive)
+ * @param minPrice       lowest daily price in {@code currency} (inclusive)
+ * @param maxPrice       highest daily price in {@code currency} (inclusive)
+ * @param from           first day the car must be free (inclusive), together with {@code to}
+ * @param to             last day the car must be free (inclusive), together with {@code from}
+ * @param currency       ISO currency code for prices and price bounds (default "USD")
+ * @param sort           sort key {@code price}, {@code year}, {@code make} or {@code model},
+ *                       optionally followed by {@code ,asc} or {@code ,desc} (default "price,asc")
+ * @param page           zero-based page number
+ * @param size           page size
+ */
+public record CarSearchRequestDto(
+        List<String> make,
+        List<String> fuelType,
+        Boolean automatic,
+        List<String> pickupLocation,
+        Integer minYear,
+        Integer maxYear,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        String currency,
+        String sort,
+        Integer page,
+        Integer size
+) {}
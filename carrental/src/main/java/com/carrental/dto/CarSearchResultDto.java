@@ -0,0 +1,26 @@
+package com.carrental.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object representing one page of a car search with facet counts.
+ * <p>
+ * Each facet counts the matching cars per value of one attribute, applying every
+ * filter except the one on that attribute, so a client can show how many cars
+ * each alternative value would yield.
+ *
+ * @param items  cars of this page, with prices in the requested currency
+ * @param total  number of cars matching all filters
+ * @param page   zero-based number of this page
+ * @param size   page size
+ * @param facets car counts per value, keyed by {@code make}, {@code fuelType},
+ *               {@code automatic} and {@code pickupLocation}
+ */
+public record CarSearchResultDto(
+        List<AvailableCarDto> items,
+        long total,
+        int page,
+        int size,
+        Map<String, Map<String, Long>> facets
+) {}
@@ -3,8 +3,11 @@ package com.carrental.dto;
 /**
  * Data Transfer Object for the login response.
  * <p>
- * Contains the ID of the authenticated user.
+ * Contains the ID of the authenticated user and an access token to send as
+ * <code>Authorization: Bearer &lt;token&gt;</code> on later requests.
  *
- * @param userId unique identifier of the authenticated user
+ * @param userId    unique identifier of the authenticated user
+ * @param token     signed access token
+ * @param expiresIn lifetime of the token in seconds
  */
-public record LoginResponseDto(Integer userId) {}
+public record LoginResponseDto(Integer userId, String token, long expiresIn) {}
@@ -1,5 +1,7 @@
 package com.carrental.exception;
 
+import java.util.Collection;
+
 /**
  * Exception thrown when a car with the specified ID is not available
  * for booking in the requested period.
@@ -15,4 +17,14 @@ public class CarNotAvailableException extends RuntimeException {
     public CarNotAvailableException(Number id) {
         super("Car " + id + " is not available in the requested period");
     }
+
+    /**
+     * Constructs a new CarNotAvailableException for a set of cars of which
+     * at least one is unavailable.
+     *
+     * @param ids the IDs of the cars requested together
+     */
+    public CarNotAvailableException(Collection<? extends Number> ids) {
+        super("At least one of the cars " + ids + " is not available in the requested period");
+    }
 }
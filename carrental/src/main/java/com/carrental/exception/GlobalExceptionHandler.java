@@ -2,10 +2,12 @@ package com.carrental.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 
@@ -131,6 +133,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
     }
 
+    /**
+     * Handles exceptions of type {@link ResponseStatusException}, such as a failed login,
+     * keeping the status chosen by the controller.
+     *
+     * @param ex      the exception carrying the response status
+     * @param request the HTTP request during which the exception was raised
+     * @return a {@link ResponseEntity} containing an {@link ErrorResponse} with the exception's status
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatus(
+            ResponseStatusException ex,
+            HttpServletRequest request) {
+
+        HttpStatusCode status = ex.getStatusCode();
+        HttpStatus resolved = HttpStatus.resolve(status.value());
+        ErrorResponse body = new ErrorResponse(
+                Instant.now(),
+                status.value(),
+                resolved != null ? resolved.getReasonPhrase() : status.toString(),
+                ex.getReason(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(status).body(body);
+    }
+
     /**
      * Handles all uncaught exceptions as a fallback.
      *
@@ -0,0 +1,157 @@
+package com.carrental.integration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Count-based circuit breaker guarding calls to a remote service.
+ * <p>
+ * The outcomes of the last {@code windowSize} calls are kept in a ring buffer. Once at
+ * least {@code minimumCalls} have been recorded and the failure rate reaches the
+ * threshold, the breaker opens and rejects calls without attempting them. After
+ * {@code openDuration} it moves to half-open and lets a limited number of probe calls
+ * through: if all of them succeed the breaker closes again, any failure re-opens it.
+ * <p>
+ * All state transitions are synchronized; the lock is only held for bookkeeping, never
+ * while the guarded call runs.
+ */
+public class CircuitBreaker {
+
+    /** Breaker states, in the order exposed by the state metric. */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Clock clock;
+
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private int halfOpenPermitsIssued;
+    private int halfOpenSuccesses;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param name                 name used in log messages and metrics
+     * @param failureRateThreshold failure percentage (1–100) at which the breaker opens
+     * @param windowSize           number of most recent calls considered
+     * @param minimumCalls         calls required in the window before the rate is evaluated
+     * @param openDuration         how long the breaker stays open before probing
+     * @param halfOpenCalls        number of probe calls permitted while half-open
+     * @param clock                time source
+     */
+    public CircuitBreaker(String name, int failureRateThreshold, int windowSize, int minimumCalls,
+                          Duration openDuration, int halfOpenCalls, Clock clock) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        this.outcomes = new boolean[windowSize];
+    }
+
+    /**
+     * Returns the name of the guarded service.
+     *
+     * @return breaker name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the current state, moving from open to half-open if the open period has elapsed.
+     *
+     * @return the current breaker state
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            state = State.HALF_OPEN;
+            halfOpenPermitsIssued = 0;
+            halfOpenSuccesses = 0;
+        }
+        return state;
+    }
+
+    /**
+     * Asks whether a call may be attempted. Every granted permission must be
+     * followed by exactly one {@link #onSuccess()} or {@link #onFailure()}.
+     *
+     * @return {@code true} if the call may proceed, {@code false} to fail fast
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (getState()) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (halfOpenPermitsIssued < halfOpenCalls) {
+                    halfOpenPermitsIssued++;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /** Records a successful call. */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    /** Records a failed call, opening the breaker if the failure rate is too high. */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls
+                && failures * 100 >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.instant();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.carrental.integration;
+
+import com.carrental.exception.CurrencyConversionException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Converts USD amounts into other currencies.
+ * <p>
+ * Implementations only have to provide the USD→currency exchange rate; every
+ * conversion is computed locally as {@code amount × rate}. The active implementation
+ * is selected with the <code>currency.provider</code> property.
+ */
+public interface CurrencyConverter {
+
+    /**
+     * Returns the USD→currency exchange rate.
+     *
+     * @param toCurrency the ISO currency code (e.g. "EUR")
+     * @return the exchange rate; {@link BigDecimal#ONE} for USD
+     * @throws CurrencyConversionException if the rate cannot be retrieved
+     */
+    BigDecimal rateFor(String toCurrency);
+
+    /**
+     * Asynchronously resolves the USD→currency exchange rate.
+     *
+     * @param toCurrency the ISO currency code (e.g. "EUR")
+     * @return a future of the exchange rate, failing with {@link CurrencyConversionException}
+     */
+    CompletableFuture<BigDecimal> rateForAsync(String toCurrency);
+
+    /**
+     * Converts an amount from USD to the specified target currency.
+     *
+     * @param amountUsd the amount in USD
+     * @param toCurrency the ISO currency code to convert to (e.g. "EUR")
+     * @return the converted amount in the target currency
+     * @throws CurrencyConversionException if the rate cannot be retrieved
+     */
+    default BigDecimal convert(BigDecimal amountUsd, String toCurrency) {
+        if ("USD".equalsIgnoreCase(toCurrency)) {
+            return amountUsd;
+        }
+        return amountUsd.multiply(rateFor(toCurrency));
+    }
+
+    /**
+     * Asynchronously converts an amount from USD to the specified target currency.
+     *
+     * @param amountUsd the amount in USD
+     * @param toCurrency the ISO currency code to convert to (e.g. "EUR")
+     * @return a future of the converted amount, failing with {@link CurrencyConversionException}
+     */
+    default CompletableFuture<BigDecimal> convertAsync(BigDecimal amountUsd, String toCurrency) {
+        return rateForAsync(toCurrency).thenApply(amountUsd::multiply);
+    }
+
+    /**
+     * Waits for a conversion started with one of the asynchronous methods.
+     *
+     * @param pending the future returned by {@link #convertAsync} or {@link #rateForAsync}
+     * @return the completed value
+     * @throws CurrencyConversionException if the conversion failed
+     */
+    default BigDecimal await(CompletableFuture<BigDecimal> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof CurrencyConversionException cce) {
+                throw cce;
+            }
+            throw new CurrencyConversionException("Currency conversion failed", ex.getCause());
+        }
+    }
+}
@@ -1,34 +1,101 @@
 package com.carrental.integration;
 
 import com.carrental.exception.CurrencyConversionException;
-import jakarta.xml.soap.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathFactory;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * SOAP client for converting currencies via the Spyne Currency Converter service.
+ * This is the default {@link CurrencyConverter}, active unless
+ * <code>currency.provider</code> selects another one.
  * <p>
- * Communicates using SAAJ (SOAP with Attachments API for Java) and throws
- * {@link CurrencyConversionException} on errors.
+ * Requests are sent over a single shared {@link HttpClient}, which pools keep-alive
+ * connections, applies connect/read timeouts and is capped to a fixed number of
+ * concurrent calls. A {@link CircuitBreaker} stops calling the service once it keeps
+ * failing, and the concurrency cap acts as a bulkhead: callers that cannot obtain a slot
+ * within the configured wait fail fast instead of queueing behind a slow service.
+ * Breaker state and rejected calls are published as metrics.
+ * The request envelope is a template created once at startup, and
+ * responses are read with a streaming {@link SoapResultReader} instead of a DOM.
+ * Errors surface as {@link CurrencyConversionException}.
+ * <p>
+ * The upstream service only refreshes its ECB rates once a day, so the client keeps
+ * a per-currency rate table: the USD→currency rate is fetched once per refresh window
+ * and every conversion is computed locally as {@code amount × rate}. Entries older than
+ * the TTL are still served (stale-while-revalidate) while a background refresh runs,
+ * until they exceed the maximum staleness and must be reloaded synchronously.
+ * <p>
+ * {@link #rateForAsync(String)} runs uncached lookups on virtual threads, so callers
+ * can start conversions early, fan them out concurrently and
+ * {@linkplain #await(CompletableFuture) join} them later.
  */
 @Component
-public class CurrencyConverterClient {
+@ConditionalOnProperty(name = "currency.provider", havingValue = "soap", matchIfMissing = true)
+public class CurrencyConverterClient implements CurrencyConverter {
 
     private static final Logger log = LoggerFactory.getLogger(CurrencyConverterClient.class);
 
-    private final String serviceUrl;
+    private static final Pattern CURRENCY_CODE = Pattern.compile("[A-Z]{3}");
+
+    private static final String REQUEST_TEMPLATE = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <SOAP-ENV:Envelope xmlns:SOAP-ENV="http://schemas.xmlsoap.org/soap/envelope/" \
+            xmlns:tns="spyne.examples.currency">
+            <SOAP-ENV:Body><tns:convert_currency>\
+            <tns:amount>%s</tns:amount><tns:to_currency>%s</tns:to_currency>\
+            </tns:convert_currency></SOAP-ENV:Body>
+            </SOAP-ENV:Envelope>
+            """;
+
+    private final URI serviceUri;
     private final String basicAuthHeader;
+    private final Duration readTimeout;
+    private final HttpClient httpClient;
+    private final Semaphore bulkhead;
+    private final Duration bulkheadMaxWait;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter rejectedByBreaker;
+    private final Counter rejectedByBulkhead;
+    private final Duration rateTtl;
+    private final Duration maxStale;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    private final Map<String, CachedRate> rates = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<BigDecimal>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService asyncExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("currency-client-", 0).factory());
 
     /**
      * Constructs a new client for the Spyne Currency Converter service.
@@ -36,109 +103,324 @@ public class CurrencyConverterClient {
      * @param url the endpoint URL of the SOAP service
      * @param user the username for HTTP Basic authentication
      * @param pwd the password for HTTP Basic authentication
+     * @param connectTimeout maximum time to establish a TCP connection
+     * @param readTimeout maximum time to wait for a response
+     * @param maxConcurrentCalls maximum number of SOAP calls in flight at once
+     * @param bulkheadMaxWait how long a caller may wait for a free call slot
+     * @param rateTtl how long a fetched rate is considered fresh
+     * @param maxStale how long past its TTL a rate may still be served while it is refreshed
+     * @param circuitBreaker breaker guarding the SOAP service
+     * @param meterRegistry registry for breaker and bulkhead metrics
+     * @param eventPublisher publisher for {@link ExchangeRatesUpdatedEvent}s
      */
+    @Autowired
     public CurrencyConverterClient(
             @Value("${currency.soap.url}") String url,
             @Value("${currency.soap.username}") String user,
-            @Value("${currency.soap.password}") String pwd) {
-        this.serviceUrl = url;
+            @Value("${currency.soap.password}") String pwd,
+            @Value("${currency.soap.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${currency.soap.read-timeout:PT5S}") Duration readTimeout,
+            @Value("${currency.soap.max-concurrent-calls:8}") int maxConcurrentCalls,
+            @Value("${currency.soap.bulkhead-max-wait:PT0.1S}") Duration bulkheadMaxWait,
+            @Value("${currency.rates.ttl:PT1H}") Duration rateTtl,
+            @Value("${currency.rates.max-stale:PT24H}") Duration maxStale,
+            CircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            ApplicationEventPublisher eventPublisher) {
+        this(url, user, pwd, connectTimeout, readTimeout, maxConcurrentCalls, bulkheadMaxWait,
+                rateTtl, maxStale, circuitBreaker, meterRegistry, eventPublisher, Clock.systemUTC());
+    }
+
+    CurrencyConverterClient(String url, String user, String pwd,
+                            Duration connectTimeout, Duration readTimeout,
+                            int maxConcurrentCalls, Duration bulkheadMaxWait,
+                            Duration rateTtl, Duration maxStale,
+                            CircuitBreaker circuitBreaker, MeterRegistry meterRegistry,
+                            ApplicationEventPublisher eventPublisher, Clock clock) {
+        this.serviceUri = URI.create(url);
         this.basicAuthHeader = "Basic " +
                 Base64.getEncoder()
                         .encodeToString((user + ":" + pwd).getBytes(StandardCharsets.UTF_8));
+        this.readTimeout = readTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.bulkheadMaxWait = bulkheadMaxWait;
+        this.circuitBreaker = circuitBreaker;
+        this.rateTtl = rateTtl;
+        this.maxStale = maxStale;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+
+        Gauge.builder("currency.client.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("Circuit breaker state (0 = closed, 1 = open, 2 = half-open)")
+                .tag("name", circuitBreaker.getName())
+                .register(meterRegistry);
+        Gauge.builder("currency.client.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Free call slots towards the currency service")
+                .register(meterRegistry);
+        this.rejectedByBreaker = Counter.builder("currency.client.calls.rejected")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        this.rejectedByBulkhead = Counter.builder("currency.client.calls.rejected")
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
     }
 
     /**
-     * Converts an amount from USD to the specified target currency.
-     *
-     * @param amountUsd the amount in USD
-     * @param toCurrency the ISO currency code to convert to (e.g. "EUR")
-     * @return the converted amount in the target currency
-     * @throws CurrencyConversionException if conversion fails or the service is unavailable
+     * {@inheritDoc}
+     * <p>
+     * Uses the cached rate; only a missing or expired rate causes a round
+     * trip to the SOAP service.
      */
-    public BigDecimal convert(BigDecimal amountUsd, String toCurrency) {
+    @Override
+    public BigDecimal rateFor(String toCurrency) {
         if ("USD".equalsIgnoreCase(toCurrency)) {
-            return amountUsd;
+            return BigDecimal.ONE;
         }
+        return currentRate(toCurrency.toUpperCase());
+    }
 
-        try {
-            SOAPConnection connection = SOAPConnectionFactory
-                    .newInstance()
-                    .createConnection();
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Completes immediately when the rate is cached; otherwise the lookup
+     * runs on a virtual thread.
+     */
+    @Override
+    public CompletableFuture<BigDecimal> rateForAsync(String toCurrency) {
+        if ("USD".equalsIgnoreCase(toCurrency)) {
+            return CompletableFuture.completedFuture(BigDecimal.ONE);
+        }
+        String currency = toCurrency.toUpperCase();
+        BigDecimal cached = cachedRate(currency);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> load(currency), asyncExecutor);
+    }
 
-            SOAPMessage request = buildRequest(amountUsd, toCurrency);
-            SOAPMessage response = connection.call(request, serviceUrl);
+    /**
+     * Refreshes every cached rate in the background so that requests
+     * rarely observe an expired entry.
+     */
+    @Scheduled(fixedDelayString = "${currency.rates.refresh-interval:PT30M}",
+               initialDelayString = "${currency.rates.refresh-interval:PT30M}")
+    public void refreshRates() {
+        for (String currency : rates.keySet()) {
+            try {
+                load(currency);
+            } catch (CurrencyConversionException ex) {
+                log.warn("Background refresh of USD → {} rate failed, keeping cached value", currency);
+            }
+        }
+    }
 
-            ByteArrayOutputStream dump = new ByteArrayOutputStream();
-            response.writeTo(dump);
-            log.debug("SOAP response:\n{}", dump);
+    /**
+     * Stops the background lookups on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        asyncExecutor.shutdownNow();
+    }
 
-            connection.close();
+    /**
+     * Returns the cached rate for a currency, reloading it if needed.
+     *
+     * @param currency upper-case ISO currency code
+     * @return the USD→currency rate
+     */
+    private BigDecimal currentRate(String currency) {
+        BigDecimal cached = cachedRate(currency);
+        return cached != null ? cached : load(currency);
+    }
 
-            return parseResponse(response);
+    /**
+     * Returns the cached rate if it is fresh or still within the stale window,
+     * scheduling a background revalidation in the latter case.
+     *
+     * @param currency upper-case ISO currency code
+     * @return the usable cached rate, or {@code null} if it must be loaded
+     */
+    private BigDecimal cachedRate(String currency) {
+        CachedRate cached = rates.get(currency);
+        Instant now = clock.instant();
+        if (cached != null) {
+            Duration age = Duration.between(cached.fetchedAt(), now);
+            if (age.compareTo(rateTtl) <= 0) {
+                return cached.rate();
+            }
+            if (age.compareTo(rateTtl.plus(maxStale)) <= 0) {
+                if (!inFlight.containsKey(currency)) {
+                    asyncExecutor.execute(() -> refreshQuietly(currency));
+                }
+                return cached.rate();
+            }
+        }
+        return null;
+    }
 
-        } catch (Exception ex) {
-            log.error("Currency conversion failed ({} USD → {})", amountUsd, toCurrency, ex);
-            throw new CurrencyConversionException("Currency conversion failed", ex);
+    private void refreshQuietly(String currency) {
+        try {
+            load(currency);
+        } catch (CurrencyConversionException ex) {
+            log.warn("Revalidation of USD → {} rate failed, serving stale value", currency);
         }
     }
 
     /**
-     * Builds the SOAP request message for currency conversion.
+     * Fetches a rate from the service, coalescing concurrent loads of the same currency
+     * into a single SOAP call. A rate that differs from the cached one is announced
+     * with an {@link ExchangeRatesUpdatedEvent}.
      *
-     * @param amountUsd the amount in USD
-     * @param toCurrency the target currency code
-     * @return the SOAPMessage ready to be sent
-     * @throws SOAPException if message construction fails
+     * @param currency upper-case ISO currency code
+     * @return the freshly fetched rate
+     * @throws CurrencyConversionException if the service call fails
      */
-    private SOAPMessage buildRequest(BigDecimal amountUsd, String toCurrency) throws SOAPException {
-        SOAPMessage message = MessageFactory.newInstance().createMessage();
-        message.getMimeHeaders().addHeader("Authorization", basicAuthHeader);
-
-        SOAPBody body = message.getSOAPBody();
-        SOAPElement convert = body.addChildElement(
-                "convert_currency", "tns", "spyne.examples.currency");
-
-        SOAPFactory factory = SOAPFactory.newInstance();
-        Name amount = factory.createName("amount", "tns", "spyne.examples.currency");
-        Name toCurrencyEl = factory.createName("to_currency", "tns", "spyne.examples.currency");
-
-        convert.addChildElement(amount)
-                .addTextNode(amountUsd.toPlainString());
-        convert.addChildElement(toCurrencyEl)
-                .addTextNode(toCurrency.toUpperCase());
-
-        message.saveChanges();
-        return message;
+    private BigDecimal load(String currency) {
+        CompletableFuture<BigDecimal> mine = new CompletableFuture<>();
+        CompletableFuture<BigDecimal> running = inFlight.putIfAbsent(currency, mine);
+        if (running != null) {
+            return await(running);
+        }
+        BigDecimal rate;
+        CachedRate previous;
+        try {
+            rate = fetchRate(currency);
+            previous = rates.put(currency, new CachedRate(rate, clock.instant()));
+            mine.complete(rate);
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(currency, mine);
+        }
+        if (previous == null || previous.rate().compareTo(rate) != 0) {
+            eventPublisher.publishEvent(new ExchangeRatesUpdatedEvent(Map.of(currency, rate)));
+        }
+        return rate;
     }
 
-    private static final XPathExpression RESULT_PATH;
-    static {
+    /**
+     * Asks the SOAP service for the USD→currency rate by converting one US dollar.
+     *
+     * @param toCurrency upper-case ISO currency code
+     * @return the exchange rate
+     * @throws CurrencyConversionException if conversion fails or the service is unavailable
+     */
+    BigDecimal fetchRate(String toCurrency) {
+        if (!CURRENCY_CODE.matcher(toCurrency).matches()) {
+            throw new CurrencyConversionException("Unsupported currency code: " + toCurrency);
+        }
+        HttpRequest request = buildRequest(BigDecimal.ONE, toCurrency);
+        acquireSlot();
         try {
-            XPath x = XPathFactory.newInstance().newXPath();
-            RESULT_PATH = x.compile("//*[local-name()='convert_currencyResult']/text()");
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            if (!circuitBreaker.tryAcquirePermission()) {
+                rejectedByBreaker.increment();
+                throw new CurrencyConversionException("Currency service circuit is open");
+            }
+            try {
+                HttpResponse<InputStream> response =
+                        httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                BigDecimal rate = readRate(response);
+                circuitBreaker.onSuccess();
+                log.info("Fetched exchange rate USD → {}: {}", toCurrency, rate);
+                return rate;
+            } catch (SoapFaultException ex) {
+                circuitBreaker.onSuccess();
+                throw ex;
+            } catch (InterruptedException ex) {
+                circuitBreaker.onFailure();
+                Thread.currentThread().interrupt();
+                throw new CurrencyConversionException("Currency conversion interrupted", ex);
+            } catch (Exception ex) {
+                circuitBreaker.onFailure();
+                log.error("Exchange rate lookup failed (USD → {})", toCurrency, ex);
+                throw ex instanceof CurrencyConversionException cce
+                        ? cce
+                        : new CurrencyConversionException("Currency conversion failed", ex);
+            }
+        } finally {
+            bulkhead.release();
         }
     }
 
     /**
-     * Parses the SOAP response to extract the conversion result.
+     * Takes a call slot from the bulkhead, waiting at most the configured time.
      *
-     * @param msg the SOAPMessage returned by the service
-     * @return the converted amount as BigDecimal
-     * @throws CurrencyConversionException if parsing fails or result is empty
+     * @throws CurrencyConversionException if no slot becomes free in time
      */
-    private BigDecimal parseResponse(SOAPMessage msg) throws SOAPException {
+    private void acquireSlot() {
         try {
-            String text = (String) RESULT_PATH.evaluate(msg.getSOAPBody(), XPathConstants.STRING);
-            if (text == null || text.isBlank()) {
-                throw new CurrencyConversionException("SOAP result element empty");
+            if (bulkhead.tryAcquire(bulkheadMaxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
             }
-            return new BigDecimal(text);
-        } catch (CurrencyConversionException e) {
-            throw e;
-        } catch (Exception ex) {
-            throw new CurrencyConversionException("Unable to parse SOAP result", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CurrencyConversionException("Currency conversion interrupted", ex);
         }
+        rejectedByBulkhead.increment();
+        throw new CurrencyConversionException("Too many concurrent currency service calls");
     }
+
+    /**
+     * Extracts the result from an HTTP response. The body is only buffered
+     * when debug logging needs a copy of it; otherwise it is parsed as it streams in.
+     * Spyne reports SOAP faults with HTTP 500, so the body is parsed for a
+     * fault string before the status code is considered.
+     *
+     * @param response the HTTP response with an unread body
+     * @return the parsed conversion result
+     * @throws Exception if the body cannot be read or holds no result
+     */
+    private BigDecimal readRate(HttpResponse<InputStream> response) throws Exception {
+        try (InputStream body = response.body()) {
+            InputStream source = body;
+            if (log.isDebugEnabled()) {
+                byte[] raw = body.readAllBytes();
+                log.debug("SOAP response ({}):\n{}",
+                        response.statusCode(), new String(raw, StandardCharsets.UTF_8));
+                source = new ByteArrayInputStream(raw);
+            }
+            try {
+                return SoapResultReader.readResult(source);
+            } catch (SoapFaultException ex) {
+                throw ex;
+            } catch (CurrencyConversionException ex) {
+                if (response.statusCode() != 200) {
+                    throw new CurrencyConversionException(
+                            "Currency service returned HTTP " + response.statusCode() + ": " + ex.getMessage());
+                }
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Builds the HTTP request carrying the SOAP envelope for a currency conversion.
+     *
+     * @param amountUsd the amount in USD
+     * @param toCurrency the validated, upper-case target currency code
+     * @return the HTTP request ready to be sent
+     */
+    private HttpRequest buildRequest(BigDecimal amountUsd, String toCurrency) {
+        String envelope = REQUEST_TEMPLATE.formatted(amountUsd.toPlainString(), toCurrency);
+        return HttpRequest.newBuilder(serviceUri)
+                .timeout(readTimeout)
+                .header("Content-Type", "text/xml; charset=utf-8")
+                .header("SOAPAction", "\"\"")
+                .header("Authorization", basicAuthHeader)
+                .POST(HttpRequest.BodyPublishers.ofString(envelope, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    /**
+     * Cached exchange rate together with the instant it was fetched.
+     *
+     * @param rate      the USD→currency rate
+     * @param fetchedAt when the rate was retrieved from the service
+     */
+    private record CachedRate(BigDecimal rate, Instant fetchedAt) {}
 }
@@ -0,0 +1,233 @@
+package com.carrental.integration;
+
+import com.carrental.exception.CurrencyConversionException;
+import com.carrental.integration.EcbRatesReader.EcbRates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-process {@link CurrencyConverter} backed by the ECB daily reference rates.
+ * <p>
+ * Loads the {@code eurofxref} XML published by the European Central Bank – the same
+ * document the Python currency service downloads – and converts locally, so priced
+ * requests need no SOAP round trip. The location may be an {@code http(s)} URL, a
+ * {@code file:} or plain file-system path, or a {@code classpath:} resource.
+ * <p>
+ * The rates are rebased from EUR to USD once per load and kept in an immutable
+ * snapshot that is swapped atomically on refresh; lookups are a single map read.
+ * A failed refresh keeps serving the previous snapshot.
+ * <p>
+ * Enabled with <code>currency.provider=ecb</code>.
+ */
+@Component
+@ConditionalOnProperty(name = "currency.provider", havingValue = "ecb")
+public class EcbRateProvider implements CurrencyConverter {
+
+    private static final Logger log = LoggerFactory.getLogger(EcbRateProvider.class);
+
+    private final String location;
+    private final Duration timeout;
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+    private final HttpClient httpClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Object loadLock = new Object();
+
+    private volatile RateSnapshot snapshot;
+
+    /**
+     * Constructs a provider reading the ECB reference rates from the given location.
+     *
+     * @param location       URL, file path or classpath resource of the {@code eurofxref} document
+     * @param timeout        connect and read timeout for remote locations
+     * @param eventPublisher publisher for {@link ExchangeRatesUpdatedEvent}s
+     */
+    public EcbRateProvider(
+            @Value("${currency.ecb.location:https://www.ecb.europa.eu/stats/eurofxref/eurofxref-daily.xml}")
+            String location,
+            @Value("${currency.ecb.timeout:PT5S}") Duration timeout,
+            ApplicationEventPublisher eventPublisher) {
+        this.location = location;
+        this.timeout = timeout;
+        this.eventPublisher = eventPublisher;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Loads the reference rates on first use; afterwards the rate is read
+     * from the current in-memory snapshot.
+     */
+    @Override
+    public BigDecimal rateFor(String toCurrency) {
+        if ("USD".equalsIgnoreCase(toCurrency)) {
+            return BigDecimal.ONE;
+        }
+        BigDecimal rate = currentSnapshot().usdRates().get(toCurrency.toUpperCase());
+        if (rate == null) {
+            throw new CurrencyConversionException("Unsupported currency: " + toCurrency);
+        }
+        return rate;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Rates are held in memory, so the returned future is already complete.
+     */
+    @Override
+    public CompletableFuture<BigDecimal> rateForAsync(String toCurrency) {
+        try {
+            return CompletableFuture.completedFuture(rateFor(toCurrency));
+        } catch (CurrencyConversionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Returns the publication date of the rates currently in use.
+     *
+     * @return the ECB reference date
+     * @throws CurrencyConversionException if no rates could be loaded
+     */
+    public LocalDate ratesDate() {
+        return currentSnapshot().date();
+    }
+
+    /**
+     * Reloads the reference rates, keeping the previous snapshot if loading fails.
+     */
+    @Scheduled(fixedDelayString = "${currency.ecb.refresh-interval:PT1H}",
+               initialDelayString = "${currency.ecb.refresh-interval:PT1H}")
+    public void refreshRates() {
+        try {
+            synchronized (loadLock) {
+                reload();
+            }
+        } catch (CurrencyConversionException ex) {
+            log.warn("Refreshing ECB reference rates from {} failed, keeping rates of {}",
+                    location, snapshot != null ? snapshot.date() : "none", ex);
+        }
+    }
+
+    private RateSnapshot currentSnapshot() {
+        RateSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (loadLock) {
+            return snapshot != null ? snapshot : reload();
+        }
+    }
+
+    /**
+     * Loads and parses the document and publishes it as the new snapshot,
+     * announcing changed rates with an {@link ExchangeRatesUpdatedEvent}.
+     * Callers hold {@code loadLock}, so every snapshot is compared with the one it replaces.
+     *
+     * @return the published snapshot
+     * @throws CurrencyConversionException if the document cannot be loaded or parsed
+     */
+    private RateSnapshot reload() {
+        EcbRates rates;
+        try (InputStream body = open()) {
+            rates = EcbRatesReader.read(body);
+        } catch (IOException ex) {
+            throw new CurrencyConversionException("Unable to load ECB reference rates from " + location, ex);
+        }
+        RateSnapshot loaded = RateSnapshot.rebase(rates);
+        RateSnapshot previous = snapshot;
+        snapshot = loaded;
+        log.info("Loaded {} ECB reference rates for {}", loaded.usdRates().size(), loaded.date());
+        if (previous == null || !previous.usdRates().equals(loaded.usdRates())) {
+            eventPublisher.publishEvent(new ExchangeRatesUpdatedEvent(loaded.usdRates()));
+        }
+        return loaded;
+    }
+
+    private InputStream open() throws IOException {
+        if (location.startsWith("http://") || location.startsWith("https://")) {
+            return openRemote();
+        }
+        if (location.startsWith(ResourceLoader.CLASSPATH_URL_PREFIX) || location.startsWith("file:")) {
+            return resourceLoader.getResource(location).getInputStream();
+        }
+        return Files.newInputStream(Path.of(location));
+    }
+
+    private InputStream openRemote() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(location))
+                .timeout(timeout)
+                .GET()
+                .build();
+        try {
+            HttpResponse<InputStream> response =
+                    httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() != 200) {
+                response.body().close();
+                throw new IOException("ECB returned HTTP " + response.statusCode());
+            }
+            return response.body();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CurrencyConversionException("Loading ECB reference rates interrupted", ex);
+        }
+    }
+
+    /**
+     * Immutable USD-based rate table.
+     *
+     * @param date     ECB publication date of the underlying rates
+     * @param usdRates units of each currency per US dollar, keyed by ISO code
+     */
+    private record RateSnapshot(LocalDate date, Map<String, BigDecimal> usdRates) {
+
+        /**
+         * Rebases euro reference rates onto the US dollar.
+         *
+         * @param rates the ECB rates, quoted per euro
+         * @return the USD-based snapshot
+         * @throws CurrencyConversionException if the document has no USD rate
+         */
+        static RateSnapshot rebase(EcbRates rates) {
+            BigDecimal usdPerEuro = rates.perEuro().get("USD");
+            if (usdPerEuro == null || usdPerEuro.signum() <= 0) {
+                throw new CurrencyConversionException("ECB reference rates contain no USD rate");
+            }
+            Map<String, BigDecimal> usdRates = new HashMap<>();
+            usdRates.put("EUR", BigDecimal.ONE.divide(usdPerEuro, MathContext.DECIMAL64));
+            rates.perEuro().forEach((currency, perEuro) -> {
+                if (!"USD".equals(currency)) {
+                    usdRates.put(currency, perEuro.divide(usdPerEuro, MathContext.DECIMAL64));
+                }
+            });
+            return new RateSnapshot(rates.date(), Map.copyOf(usdRates));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.carrental.integration;
+
+import com.carrental.exception.CurrencyConversionException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pull parser for the ECB {@code eurofxref} reference-rate document.
+ * <p>
+ * The document nests its data in {@code Cube} elements: one carrying the
+ * {@code time} attribute and one per currency with {@code currency} and
+ * {@code rate} attributes, each rate quoted per euro.
+ */
+final class EcbRatesReader {
+
+    private static final String CUBE_ELEMENT = "Cube";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private EcbRatesReader() {}
+
+    /**
+     * Euro reference rates for one publication day.
+     *
+     * @param date     the day the rates were published for
+     * @param perEuro  units of each currency per euro, keyed by ISO code
+     */
+    record EcbRates(LocalDate date, Map<String, BigDecimal> perEuro) {}
+
+    /**
+     * Reads the reference rates from an {@code eurofxref} document.
+     *
+     * @param body the raw document stream; not closed by this method
+     * @return the parsed rates
+     * @throws CurrencyConversionException if the document holds no rates or cannot be parsed
+     */
+    static EcbRates read(InputStream body) {
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(body);
+            LocalDate date = null;
+            Map<String, BigDecimal> perEuro = new HashMap<>();
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT
+                        || !CUBE_ELEMENT.equals(reader.getLocalName())) {
+                    continue;
+                }
+                String time = reader.getAttributeValue(null, "time");
+                if (time != null) {
+                    date = LocalDate.parse(time);
+                }
+                String currency = reader.getAttributeValue(null, "currency");
+                String rate = reader.getAttributeValue(null, "rate");
+                if (currency != null && rate != null) {
+                    perEuro.put(currency.strip().toUpperCase(), new BigDecimal(rate.strip()));
+                }
+            }
+            if (date == null || perEuro.isEmpty()) {
+                throw new CurrencyConversionException("ECB document contains no reference rates");
+            }
+            return new EcbRates(date, Map.copyOf(perEuro));
+        } catch (XMLStreamException | NumberFormatException | DateTimeParseException ex) {
+            throw new CurrencyConversionException("Unable to parse ECB reference rates", ex);
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException ignored) {
+            // nothing left to release
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,12 @@
+package com.carrental.integration;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Published by a {@link CurrencyConverter} after it has loaded exchange rates
+ * that differ from the ones it served before.
+ *
+ * @param rates the new USD→currency rates, keyed by upper-case ISO currency code
+ */
+public record ExchangeRatesUpdatedEvent(Map<String, BigDecimal> rates) {}
@@ -0,0 +1,22 @@
+package com.carrental.integration;
+
+import com.carrental.exception.CurrencyConversionException;
+
+/**
+ * Raised when the currency service answers with a SOAP fault.
+ * <p>
+ * A fault means the service is reachable and rejected the request itself
+ * (e.g. an unsupported currency), so it is not counted as an outage by the
+ * {@link CircuitBreaker}.
+ */
+class SoapFaultException extends CurrencyConversionException {
+
+    /**
+     * Constructs a new SoapFaultException carrying the fault string.
+     *
+     * @param faultString the {@code faultstring} reported by the service
+     */
+    SoapFaultException(String faultString) {
+        super("SOAP fault: " + faultString);
+    }
+}
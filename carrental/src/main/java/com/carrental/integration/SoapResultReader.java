@@ -0,0 +1,82 @@
+package com.carrental.integration;
+
+import com.carrental.exception.CurrencyConversionException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.math.BigDecimal;
+
+/**
+ * Pull parser for the Spyne {@code convert_currency} SOAP response.
+ * <p>
+ * Streams through the envelope with StAX and stops at the first
+ * {@code convert_currencyResult} element, so no DOM is built and only the
+ * result text is materialized. SOAP faults are reported through their
+ * {@code faultstring}.
+ */
+final class SoapResultReader {
+
+    private static final String RESULT_ELEMENT = "convert_currencyResult";
+    private static final String FAULT_STRING_ELEMENT = "faultstring";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private SoapResultReader() {}
+
+    /**
+     * Reads the conversion result from a SOAP response body.
+     *
+     * @param body the raw response stream; not closed by this method
+     * @return the converted amount
+     * @throws CurrencyConversionException if the response is a fault, lacks a result or cannot be parsed
+     */
+    static BigDecimal readResult(InputStream body) {
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(body);
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String name = reader.getLocalName();
+                if (RESULT_ELEMENT.equals(name)) {
+                    String text = reader.getElementText();
+                    if (text.isBlank()) {
+                        throw new CurrencyConversionException("SOAP result element empty");
+                    }
+                    return new BigDecimal(text.strip());
+                }
+                if (FAULT_STRING_ELEMENT.equals(name)) {
+                    throw new SoapFaultException(reader.getElementText());
+                }
+            }
+            throw new CurrencyConversionException("SOAP result element missing");
+        } catch (XMLStreamException | NumberFormatException ex) {
+            throw new CurrencyConversionException("Unable to parse SOAP result", ex);
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException ignored) {
+            // nothing left to release
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,98 @@
+package com.carrental.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Read-only entity representing a completed booking moved out of the
+ * "bookings" table by the archive job.
+ * <p>
+ * Maps to the "bookings_archive" table; user and car are kept as plain IDs
+ * since archived bookings are only ever read as {@code BookingDto}s.
+ */
+@Entity
+@Immutable
+@Table(name = "bookings_archive")
+public class ArchivedBooking {
+
+    /** Identifier the booking had in the "bookings" table. */
+    @Id
+    private Integer id;
+
+    /** ID of the user who made the booking. */
+    @Column(name = "booked_by", nullable = false)
+    private Integer bookedBy;
+
+    /** ID of the car that was booked. */
+    @Column(name = "car_rented", nullable = false)
+    private Integer carRented;
+
+    /** Start date of the booking period. */
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    /** End date of the booking period. */
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    /** Total cost of the booking in the specified currency. */
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalCost;
+
+    /** ISO currency code for the booking cost. */
+    @Column(nullable = false, length = 10)
+    private String currency;
+
+    /** When the booking was moved to the archive. */
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    protected ArchivedBooking() {}
+
+    /** Returns the booking ID. */
+    public Integer getId() {
+        return id;
+    }
+
+    /** Returns the ID of the user who made the booking. */
+    public Integer getBookedBy() {
+        return bookedBy;
+    }
+
+    /** Returns the ID of the car that was booked. */
+    public Integer getCarRented() {
+        return carRented;
+    }
+
+    /** Returns the start date of the booking. */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /** Returns the end date of the booking. */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /** Returns the total cost of the booking. */
+    public BigDecimal getTotalCost() {
+        return totalCost;
+    }
+
+    /** Returns the currency code of the booking cost. */
+    public String getCurrency() {
+        return currency;
+    }
+
+    /** Returns when the booking was archived. */
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -13,11 +13,16 @@ import java.time.temporal.ChronoUnit;
  */
 @Entity
 @Table(name = "bookings")
+@EntityListeners(BookingPeriodListener.class)
 public class Booking {
 
-    /** Unique identifier for this booking. */
+    /**
+     * Unique identifier for this booking.
+     * Drawn from a sequence in blocks of 50 so that inserts can be sent as JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_id_seq")
+    @SequenceGenerator(name = "bookings_id_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     private Integer id;
 
     /** The user who made the booking. */
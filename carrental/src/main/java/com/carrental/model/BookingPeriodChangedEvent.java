@@ -0,0 +1,15 @@
+package com.carrental.model;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a booking has been stored or deleted, so that in-memory
+ * availability data can be brought up to date.
+ *
+ * @param carId     the ID of the booked car
+ * @param startDate first day of the booking (inclusive)
+ * @param endDate   last day of the booking (inclusive)
+ * @param removed   {@code true} if the booking was deleted
+ */
+public record BookingPeriodChangedEvent(Integer carId, LocalDate startDate, LocalDate endDate,
+                                        boolean removed) {}
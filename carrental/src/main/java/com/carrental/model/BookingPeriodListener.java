@@ -0,0 +1,41 @@
+package com.carrental.model;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener publishing a {@link BookingPeriodChangedEvent} whenever a
+ * {@link Booking} is inserted or deleted.
+ * <p>
+ * Instantiated by Hibernate through Spring's bean container, so the event
+ * publisher is injected like in any other bean.
+ */
+public class BookingPeriodListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs the listener.
+     *
+     * @param eventPublisher publisher for the change events
+     */
+    public BookingPeriodListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    void bookingStored(Booking booking) {
+        publish(booking, false);
+    }
+
+    @PostRemove
+    void bookingRemoved(Booking booking) {
+        publish(booking, true);
+    }
+
+    private void publish(Booking booking, boolean removed) {
+        eventPublisher.publishEvent(new BookingPeriodChangedEvent(
+                booking.getCarRented().getId(), booking.getStartDate(), booking.getEndDate(), removed));
+    }
+}
@@ -1,6 +1,9 @@
 package com.carrental.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.math.BigDecimal;
 
 /**
@@ -8,9 +11,15 @@ import java.math.BigDecimal;
  * <p>
  * Maps to the "cars" table and stores details such as make, model,
  * rental price, and availability status.
+ * <p>
+ * Kept in the Hibernate second-level cache (region {@code com.carrental.model.Car},
+ * see {@code ehcache.xml}); changes made through JPA update the cached entry.
  */
 @Entity
 @Table(name = "cars")
+@EntityListeners(CarChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Car {
 
     /** Unique identifier of the car. */
@@ -0,0 +1,38 @@
+package com.carrental.model;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener publishing a {@link CarChangedEvent} whenever a
+ * {@link Car} is inserted, updated or deleted.
+ * <p>
+ * Instantiated by Hibernate through Spring's bean container, so the event
+ * publisher is injected like in any other bean.
+ */
+public class CarChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs the listener.
+     *
+     * @param eventPublisher publisher for the change events
+     */
+    public CarChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void carStored(Car car) {
+        eventPublisher.publishEvent(new CarChangedEvent(car.getId(), car.getPricePerDay()));
+    }
+
+    @PostRemove
+    void carRemoved(Car car) {
+        eventPublisher.publishEvent(new CarChangedEvent(car.getId(), null));
+    }
+}
@@ -0,0 +1,13 @@
+package com.carrental.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when a car has been stored or deleted – including changes of its
+ * availability flag only – so that data derived from it, its prices in other
+ * currencies and the in-memory car catalogue, can be brought up to date.
+ *
+ * @param carId       the ID of the car
+ * @param pricePerDay the daily price in USD, or {@code null} if the car was deleted
+ */
+public record CarChangedEvent(Integer carId, BigDecimal pricePerDay) {}
@@ -1,14 +1,21 @@
 package com.carrental.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entity representing an application user.
  * <p>
  * Maps to the "users" table and stores personal credentials and roles.
+ * <p>
+ * Kept in the Hibernate second-level cache (region {@code com.carrental.model.User},
+ * see {@code ehcache.xml}); changes made through JPA update the cached entry.
  */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class User {
 
     /** Unique identifier of the user. */
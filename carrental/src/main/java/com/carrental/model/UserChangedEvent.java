@@ -0,0 +1,10 @@
+package com.carrental.model;
+
+/**
+ * Published when a user has been updated or deleted, so that state derived
+ * from the user's credentials or role can be discarded.
+ *
+ * @param userId   the ID of the user
+ * @param username the username the user had before the change
+ */
+public record UserChangedEvent(Integer userId, String username) {}
@@ -0,0 +1,12 @@
+package com.carrental.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the period a car is booked for.
+ *
+ * @param carId     the ID of the booked car
+ * @param startDate first day of the booking (inclusive)
+ * @param endDate   last day of the booking (inclusive)
+ */
+public record BookedPeriod(Integer carId, LocalDate startDate, LocalDate endDate) {}
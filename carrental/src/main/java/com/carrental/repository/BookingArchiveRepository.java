@@ -0,0 +1,105 @@
+package com.carrental.repository;
+
+import com.carrental.dto.BookingDto;
+import com.carrental.model.ArchivedBooking;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for {@link ArchivedBooking}s and the maintenance of the monthly
+ * {@code bookings} partitions.
+ * <p>
+ * Archived bookings are the read path for historical lookups; the live
+ * {@link BookingRepository} never sees them. The maintenance methods write and
+ * therefore run in read-write transactions of their own.
+ */
+@Repository
+public interface BookingArchiveRepository extends JpaRepository<ArchivedBooking, Integer> {
+
+    /**
+     * Retrieves one archived booking as a DTO.
+     *
+     * @param id the ID of the booking
+     * @return the booking, or empty if it is not archived
+     */
+    @Query("""
+            SELECT new com.carrental.dto.BookingDto(
+                       b.id, b.bookedBy, b.carRented,
+                       b.startDate, b.endDate, b.totalCost, b.currency)
+              FROM ArchivedBooking b
+             WHERE b.id = :id
+            """)
+    Optional<BookingDto> findDtoById(@Param("id") Integer id);
+
+    /**
+     * Retrieves the archived bookings of a user following the given ID as DTOs, in ascending ID order.
+     *
+     * @param userId the ID of the user
+     * @param after  the last booking ID already seen (exclusive)
+     * @param limit  maximum number of bookings to return
+     * @return the user's next archived bookings in ID order
+     */
+    @Query("""
+            SELECT new com.carrental.dto.BookingDto(
+                       b.id, b.bookedBy, b.carRented,
+                       b.startDate, b.endDate, b.totalCost, b.currency)
+              FROM ArchivedBooking b
+             WHERE b.bookedBy = :userId
+               AND b.id > :after
+             ORDER BY b.id
+            """)
+    List<BookingDto> findDtosOfUserAfter(@Param("userId") Integer userId,
+                                         @Param("after")  Integer after,
+                                         Limit limit);
+
+    /**
+     * Moves the bookings that ended before the given day from {@code bookings} to
+     * {@code bookings_archive} in one statement. The redundant bound on {@code start_date}
+     * restricts the delete to the partitions of earlier months.
+     *
+     * @param before the first day that is not archived
+     * @return the number of bookings moved
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM bookings
+                 WHERE start_date < :before
+                   AND end_date   < :before
+             RETURNING id, booked_by, car_rented, start_date, end_date, total_cost, currency)
+            INSERT INTO bookings_archive (id, booked_by, car_rented, start_date, end_date, total_cost, currency)
+            SELECT id, booked_by, car_rented, start_date, end_date, total_cost, currency
+              FROM moved
+            """, nativeQuery = true)
+    int archiveEndedBefore(@Param("before") LocalDate before);
+
+    /**
+     * Creates the {@code bookings} partition of the month containing the given day, unless it exists.
+     *
+     * @param day any day of the month
+     * @return {@code true} if the partition was created
+     */
+    @Transactional
+    @Query(value = "SELECT create_bookings_partition(:day)", nativeQuery = true)
+    boolean createPartition(@Param("day") LocalDate day);
+
+    /**
+     * Drops the monthly {@code bookings} partitions ending on or before the given day that are empty.
+     *
+     * @param before the first day whose partition is kept
+     * @return the number of partitions dropped
+     */
+    @Transactional
+    @Query(value = "SELECT drop_empty_bookings_partitions(:before)", nativeQuery = true)
+    int dropEmptyPartitions(@Param("before") LocalDate before);
+}
@@ -1,18 +1,30 @@
 package com.carrental.repository;
 
+import com.carrental.dto.BookingDto;
 import com.carrental.model.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for {@link Booking} entities.
  * <p>
  * Provides methods to perform CRUD operations and custom queries on bookings.
+ * The {@code bookings} table is partitioned by month of {@code start_date}; queries for a
+ * date range bound {@code start_date} from above, so the partitions of later months are
+ * pruned. Bookings have no maximum length, so earlier months cannot be pruned and each of
+ * their partitions is probed through an index.
  */
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Integer> {
@@ -25,24 +37,192 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
      */
     List<Booking> findByBookedBy_Id(Integer userId);
 
+    /**
+     * Retrieves one booking as a DTO, without loading the entity.
+     *
+     * @param id the ID of the booking
+     * @return the booking, or empty if it does not exist
+     */
+    @Query("""
+            SELECT new com.carrental.dto.BookingDto(
+                       b.id, b.bookedBy.id, b.carRented.id,
+                       b.startDate, b.endDate, b.totalCost, b.currency)
+              FROM Booking b
+             WHERE b.id = :id
+            """)
+    Optional<BookingDto> findDtoById(@Param("id") Integer id);
+
+    /**
+     * Retrieves the bookings following the given ID as DTOs, in ascending ID order.
+     * <p>
+     * User and car IDs are read from the foreign key columns, so neither entities nor
+     * association proxies are created and a page costs exactly one statement.
+     *
+     * @param after the last booking ID already seen (exclusive)
+     * @param limit maximum number of bookings to return
+     * @return the next bookings in ID order
+     */
+    @Query("""
+            SELECT new com.carrental.dto.BookingDto(
+                       b.id, b.bookedBy.id, b.carRented.id,
+                       b.startDate, b.endDate, b.totalCost, b.currency)
+              FROM Booking b
+             WHERE b.id > :after
+             ORDER BY b.id
+            """)
+    List<BookingDto> findDtosAfter(@Param("after") Integer after, Limit limit);
+
+    /**
+     * Retrieves the bookings of a user following the given ID as DTOs, in ascending ID order.
+     *
+     * @param userId the ID of the user
+     * @param after  the last booking ID already seen (exclusive)
+     * @param limit  maximum number of bookings to return
+     * @return the user's next bookings in ID order
+     * @see #findDtosAfter(Integer, Limit)
+     */
+    @Query("""
+            SELECT new com.carrental.dto.BookingDto(
+                       b.id, b.bookedBy.id, b.carRented.id,
+                       b.startDate, b.endDate, b.totalCost, b.currency)
+              FROM Booking b
+             WHERE b.bookedBy.id = :userId
+               AND b.id > :after
+             ORDER BY b.id
+            """)
+    List<BookingDto> findDtosOfUserAfter(@Param("userId") Integer userId,
+                                         @Param("after")  Integer after,
+                                         Limit limit);
+
+    /**
+     * Streams every booking as a DTO, in ascending ID order.
+     * <p>
+     * Rows are fetched from a database cursor in chunks of 500 and no entities are
+     * loaded into the persistence context, so memory use does not grow with the table.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream over all bookings
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.carrental.dto.BookingDto(
+                       b.id, b.bookedBy.id, b.carRented.id,
+                       b.startDate, b.endDate, b.totalCost, b.currency)
+              FROM Booking b
+             ORDER BY b.id
+            """)
+    Stream<BookingDto> streamAllAsDtos();
+
     /**
      * Checks if there exists any booking for a given car that overlaps
      * with the specified date range.
+     * <p>
+     * Compares date ranges like the no-overlap exclusion constraints, so every partition
+     * not pruned by the start date answers with a single lookup in its GiST index.
      *
      * @param carId     the ID of the car
      * @param startDate the start date of the new booking period
      * @param endDate   the end date of the new booking period
      * @return {@code true} if an overlapping booking exists, {@code false} otherwise
      */
-    @Query("""
-            SELECT COUNT(b) > 0
-              FROM Booking b
-             WHERE b.carRented.id = :carId
-               AND b.startDate   <= :endDate
-               AND b.endDate     >= :startDate
-            """)
+    @Query(value = """
+            SELECT EXISTS (
+                   SELECT 1
+                     FROM bookings b
+                    WHERE b.car_rented = :carId
+                      AND b.start_date <= :endDate
+                      AND daterange(b.start_date, b.end_date, '[]') && daterange(:startDate, :endDate, '[]'))
+            """, nativeQuery = true)
     boolean existsOverlapping(
             @Param("carId")     Integer carId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate")   LocalDate endDate);
+
+    /**
+     * Takes a transaction-scoped PostgreSQL advisory lock on the bookings of one car.
+     * <p>
+     * Concurrent transactions booking the same car wait here until the holder commits or
+     * rolls back; bookings of other cars are unaffected. The lock key is namespaced by the
+     * OID of the {@code bookings} table.
+     *
+     * @param carId the ID of the car whose bookings are about to be checked and written
+     * @return always {@code 1}
+     */
+    @Query(value = """
+            SELECT 1
+              FROM pg_advisory_xact_lock(CAST(CAST(CAST('bookings' AS regclass) AS oid) AS integer), :carId)
+            """, nativeQuery = true)
+    Integer lockCarBookings(@Param("carId") Integer carId);
+
+    /**
+     * Takes the advisory locks of {@link #lockCarBookings(Integer)} for several cars in one
+     * statement. The locks are acquired in ascending car ID order, so transactions locking
+     * overlapping sets of cars cannot deadlock.
+     *
+     * @param carIds the IDs of the cars whose bookings are about to be checked and written
+     * @return the number of existing cars locked
+     */
+    @Query(value = """
+            SELECT CAST(COUNT(*) AS integer)
+              FROM (SELECT pg_advisory_xact_lock(CAST(CAST(CAST('bookings' AS regclass) AS oid) AS integer), ids.id)
+                      FROM (SELECT id
+                              FROM cars
+                             WHERE id IN (:carIds)
+                             ORDER BY id) ids) locked
+            """, nativeQuery = true)
+    Integer lockCarsBookings(@Param("carIds") Collection<Integer> carIds);
+
+    /**
+     * Lists the booked period of every booking, without loading the entities.
+     *
+     * @return car ID and date range of all bookings
+     */
+    @Query("""
+            SELECT new com.carrental.repository.BookedPeriod(b.carRented.id, b.startDate, b.endDate)
+              FROM Booking b
+            """)
+    List<BookedPeriod> findAllBookedPeriods();
+
+    /**
+     * Lists the booked periods of one car that overlap the given date range.
+     *
+     * @param carId the ID of the car
+     * @param from  start of the date range (inclusive)
+     * @param to    end of the date range (inclusive)
+     * @return car ID and date range of the overlapping bookings
+     */
+    @Query("""
+            SELECT new com.carrental.repository.BookedPeriod(b.carRented.id, b.startDate, b.endDate)
+              FROM Booking b
+             WHERE b.carRented.id = :carId
+               AND b.startDate   <= :to
+               AND b.endDate     >= :from
+            """)
+    List<BookedPeriod> findBookedPeriodsOfCar(
+            @Param("carId") Integer carId,
+            @Param("from")  LocalDate from,
+            @Param("to")    LocalDate to);
+
+    /**
+     * Lists the booked periods of several cars that overlap the given date range.
+     *
+     * @param carIds the IDs of the cars
+     * @param from   start of the date range (inclusive)
+     * @param to     end of the date range (inclusive)
+     * @return car ID and date range of the overlapping bookings
+     */
+    @Query("""
+            SELECT new com.carrental.repository.BookedPeriod(b.carRented.id, b.startDate, b.endDate)
+              FROM Booking b
+             WHERE b.carRented.id IN :carIds
+               AND b.startDate   <= :to
+               AND b.endDate     >= :from
+            """)
+    List<BookedPeriod> findBookedPeriodsOfCars(
+            @Param("carIds") Collection<Integer> carIds,
+            @Param("from")   LocalDate from,
+            @Param("to")     LocalDate to);
 }
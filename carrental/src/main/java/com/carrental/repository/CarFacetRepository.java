@@ -0,0 +1,22 @@
+package com.carrental.repository;
+
+import com.carrental.model.Car;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+
+/**
+ * Facet counts over {@link Car}s, mixed into {@link CarRepository}.
+ */
+public interface CarFacetRepository {
+
+    /**
+     * Counts the cars matching a specification per value of one attribute,
+     * with a single {@code GROUP BY} query.
+     *
+     * @param attribute name of the {@link Car} attribute to group by
+     * @param spec      the filter, or {@code null} for all cars
+     * @return the number of matching cars per attribute value, ordered by value
+     */
+    Map<String, Long> countBy(String attribute, Specification<Car> spec);
+}
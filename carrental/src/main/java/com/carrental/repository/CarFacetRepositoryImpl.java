@@ -0,0 +1,41 @@
+package com.carrental.repository;
+
+import com.carrental.model.Car;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Criteria API implementation of {@link CarFacetRepository}.
+ */
+class CarFacetRepositoryImpl implements CarFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<String, Long> countBy(String attribute, Specification<Car> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Car> car = query.from(Car.class);
+        Path<Object> value = car.get(attribute);
+        query.multiselect(value, cb.count(car)).groupBy(value).orderBy(cb.asc(value));
+        if (spec != null) {
+            query.where(spec.toPredicate(car, query, cb));
+        }
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            counts.put(String.valueOf(row.get(0)), row.get(1, Long.class));
+        }
+        return counts;
+    }
+}
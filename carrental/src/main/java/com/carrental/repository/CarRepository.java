@@ -2,18 +2,21 @@ package com.carrental.repository;
 
 import com.carrental.model.Car;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repository interface for {@link Car} entities.
  * <p>
- * Provides methods to retrieve cars based on availability status.
+ * Provides methods to retrieve cars based on availability status, and searches
+ * combining {@link CarSpecifications} with facet counts.
  */
-public interface CarRepository extends JpaRepository<Car, Long> {
+public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car>, CarFacetRepository {
 
     /**
      * Retrieves all cars that are currently marked as available.
@@ -45,4 +48,12 @@ public interface CarRepository extends JpaRepository<Car, Long> {
     List<Car> findAvailableBetween(@Param("from") LocalDate from,
                                    @Param("to")   LocalDate to);
 
+    /**
+     * Retrieves the cars with the given IDs in a single query.
+     *
+     * @param ids the car IDs
+     * @return the existing {@link Car} entities among the given IDs
+     */
+    List<Car> findByIdIn(Collection<Integer> ids);
+
 }
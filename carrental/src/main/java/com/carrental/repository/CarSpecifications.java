@@ -0,0 +1,132 @@
+package com.carrental.repository;
+
+import com.carrental.model.Booking;
+import com.carrental.model.Car;
+import com.carrental.model.FuelType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Composable filters for searching {@link Car}s.
+ * <p>
+ * Every factory returns {@code null} when its filter is not set, which
+ * {@link Specification#and(Specification)} treats as "no restriction", so optional
+ * search parameters can be combined without branching.
+ */
+public final class CarSpecifications {
+
+    private CarSpecifications() {
+    }
+
+    /**
+     * Restricts to cars that are marked available.
+     *
+     * @return the specification
+     */
+    public static Specification<Car> isAvailable() {
+        return (car, query, cb) -> cb.isTrue(car.get("available"));
+    }
+
+    /**
+     * Restricts to cars of the given makes.
+     *
+     * @param makes accepted makes, or {@code null}/empty for any
+     * @return the specification, or {@code null} if not restricted
+     */
+    public static Specification<Car> makeIn(Collection<String> makes) {
+        return isEmpty(makes) ? null : (car, query, cb) -> car.get("make").in(makes);
+    }
+
+    /**
+     * Restricts to cars with the given fuel types.
+     *
+     * @param fuelTypes accepted fuel types, or {@code null}/empty for any
+     * @return the specification, or {@code null} if not restricted
+     */
+    public static Specification<Car> fuelTypeIn(Collection<FuelType> fuelTypes) {
+        return isEmpty(fuelTypes) ? null : (car, query, cb) -> car.get("fuelType").in(fuelTypes);
+    }
+
+    /**
+     * Restricts to automatic or manual cars.
+     *
+     * @param automatic {@code true} for automatic, {@code false} for manual, {@code null} for any
+     * @return the specification, or {@code null} if not restricted
+     */
+    public static Specification<Car> automatic(Boolean automatic) {
+        return automatic == null ? null : (car, query, cb) -> cb.equal(car.get("automatic"), automatic);
+    }
+
+    /**
+     * Restricts to cars picked up at the given locations.
+     *
+     * @param locations accepted pickup locations, or {@code null}/empty for any
+     * @return the specification, or {@code null} if not restricted
+     */
+    public static Specification<Car> pickupLocationIn(Collection<String> locations) {
+        return isEmpty(locations) ? null : (car, query, cb) -> car.get("pickupLocation").in(locations);
+    }
+
+    /**
+     * Restricts the manufacturing year to a range.
+     *
+     * @param min earliest year (inclusive), or {@code null} for no lower bound
+     * @param max latest year (inclusive), or {@code null} for no upper bound
+     * @return the specification, or {@code null} if not restricted
+     */
+    public static Specification<Car> yearBetween(Integer min, Integer max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (car, query, cb) -> min == null ? cb.le(car.get("year"), max)
+                : max == null ? cb.ge(car.get("year"), min)
+                : cb.between(car.get("year"), min, max);
+    }
+
+    /**
+     * Restricts the daily USD price to a range.
+     *
+     * @param min lowest price (inclusive), or {@code null} for no lower bound
+     * @param max highest price (inclusive), or {@code null} for no upper bound
+     * @return the specification, or {@code null} if not restricted
+     */
+    public static Specification<Car> pricePerDayBetween(BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (car, query, cb) -> min == null ? cb.le(car.get("pricePerDay"), max)
+                : max == null ? cb.ge(car.get("pricePerDay"), min)
+                : cb.between(car.get("pricePerDay"), min, max);
+    }
+
+    /**
+     * Restricts to cars without a booking overlapping the given period.
+     *
+     * @param from first day of the period (inclusive), or {@code null} together with {@code to}
+     * @param to   last day of the period (inclusive)
+     * @return the specification, or {@code null} if no period is given
+     */
+    public static Specification<Car> freeBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            return null;
+        }
+        return (car, query, cb) -> {
+            Subquery<Integer> overlapping = query.subquery(Integer.class);
+            Root<Booking> booking = overlapping.from(Booking.class);
+            overlapping.select(cb.literal(1)).where(
+                    cb.equal(booking.get("carRented").get("id"), car.get("id")),
+                    cb.lessThanOrEqualTo(booking.get("startDate"), to),
+                    cb.greaterThanOrEqualTo(booking.get("endDate"), from));
+            return cb.not(cb.exists(overlapping));
+        };
+    }
+
+    private static boolean isEmpty(Collection<?> values) {
+        return values == null || values.isEmpty();
+    }
+}
@@ -1,7 +1,10 @@
 package com.carrental.repository;
 
 import com.carrental.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,10 +19,18 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     /**
      * Retrieves a user by their unique username.
+     * <p>
+     * Runs on every authenticated request, so the result is kept in the query cache
+     * region {@code user-by-username}. Hibernate invalidates it whenever the
+     * {@code users} table is written through JPA.
      *
      * @param username the username to search for
      * @return an {@link Optional} containing the {@link User} if found, or empty if not
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-by-username")
+    })
     Optional<User> findByUsername(String username);
 
     /**
@@ -0,0 +1,343 @@
+package com.carrental.service;
+
+import com.carrental.model.BookingPeriodChangedEvent;
+import com.carrental.repository.BookedPeriod;
+import com.carrental.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the periods each car is booked for.
+ * <p>
+ * Every car's bookings are kept as a bitmap of booked days over a rolling horizon
+ * starting today (<code>availability.index.horizon-days</code>, two years by default). Whether
+ * a car is free in a period inside the horizon is a word-wise test of the bitmap, 64 days
+ * per {@code long}. For periods reaching outside the horizon the car's bookings are also
+ * kept as arrays of epoch days sorted by start date, together with the running maximum of
+ * their end dates: find the last booking starting on or before {@code to} by binary search
+ * and check that no booking up to it ends on or after {@code from}. This also holds when
+ * stored periods overlap each other.
+ * <p>
+ * The index is loaded when the application is ready and reconciled with the database
+ * periodically (<code>availability.index.reconcile-interval</code>), so bookings written
+ * outside this service are picked up as well. In between it is kept current by the
+ * {@link BookingPeriodChangedEvent}s of committed inserts and deletes. Until the first
+ * load has completed, {@link #isLoaded()} returns {@code false} and callers should ask
+ * the database instead. Each reload also moves the horizon forward to the current day.
+ */
+@Component
+public class AvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    private final BookingRepository bookingRepository;
+    private final int horizonDays;
+    private final Clock clock;
+    private final Object writeLock = new Object();
+
+    private volatile Map<Integer, CarBookings> byCar = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private long origin;
+    private List<BookingPeriodChangedEvent> pendingDuringReload;
+
+    /**
+     * Constructs the index.
+     *
+     * @param bookingRepository repository used to load the booked periods
+     * @param horizonDays       number of days from today kept as a bitmap
+     */
+    @Autowired
+    public AvailabilityIndex(BookingRepository bookingRepository,
+                             @Value("${availability.index.horizon-days:730}") int horizonDays) {
+        this(bookingRepository, horizonDays, Clock.systemDefaultZone());
+    }
+
+    AvailabilityIndex(BookingRepository bookingRepository, int horizonDays, Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.horizonDays = horizonDays;
+        this.clock = clock;
+    }
+
+    /**
+     * Indicates whether the index has been loaded and can answer queries.
+     *
+     * @return {@code true} once the first load has completed
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Checks whether a car has no booking overlapping the given period.
+     *
+     * @param carId the ID of the car
+     * @param from  first day of the period (inclusive)
+     * @param to    last day of the period (inclusive)
+     * @return {@code true} if the car is free for the whole period
+     */
+    public boolean isFree(Integer carId, LocalDate from, LocalDate to) {
+        CarBookings bookings = byCar.get(carId);
+        return bookings == null || bookings.isFree(from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * Lists the days on which a car is booked within the given period.
+     * Answered from memory once the index is loaded, with a single query otherwise.
+     *
+     * @param carId the ID of the car
+     * @param from  first day of the period (inclusive)
+     * @param to    last day of the period (inclusive)
+     * @return the booked days in ascending order
+     */
+    public List<LocalDate> bookedDays(Integer carId, LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        if (!loaded) {
+            BitSet booked = new BitSet();
+            for (BookedPeriod period : bookingRepository.findBookedPeriodsOfCar(carId, from, to)) {
+                long start = Math.max(period.startDate().toEpochDay(), from.toEpochDay());
+                long end = Math.min(period.endDate().toEpochDay(), to.toEpochDay());
+                booked.set((int) (start - from.toEpochDay()), (int) (end - from.toEpochDay()) + 1);
+            }
+            booked.stream().forEach(offset -> days.add(from.plusDays(offset)));
+            return days;
+        }
+        CarBookings bookings = byCar.get(carId);
+        if (bookings != null) {
+            for (long day = from.toEpochDay(); day <= to.toEpochDay(); day++) {
+                if (bookings.isBooked(day)) {
+                    days.add(LocalDate.ofEpochDay(day));
+                }
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Replaces the index with the booked periods currently stored in the database.
+     * Changes committed while the periods are being read are replayed afterwards.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${availability.index.reconcile-interval:PT15M}",
+               initialDelayString = "${availability.index.reconcile-interval:PT15M}")
+    public void reload() {
+        synchronized (writeLock) {
+            pendingDuringReload = new ArrayList<>();
+        }
+        List<BookedPeriod> periods;
+        try {
+            periods = bookingRepository.findAllBookedPeriods();
+        } catch (RuntimeException ex) {
+            synchronized (writeLock) {
+                pendingDuringReload = null;
+            }
+            log.warn("Loading the availability index failed", ex);
+            return;
+        }
+
+        Map<Integer, List<long[]>> grouped = new HashMap<>();
+        for (BookedPeriod period : periods) {
+            grouped.computeIfAbsent(period.carId(), id -> new ArrayList<>())
+                    .add(new long[] {period.startDate().toEpochDay(), period.endDate().toEpochDay()});
+        }
+        long today = LocalDate.now(clock).toEpochDay();
+        Map<Integer, CarBookings> rebuilt = new ConcurrentHashMap<>();
+        grouped.forEach((carId, list) -> rebuilt.put(carId, CarBookings.of(list, today, horizonDays)));
+
+        synchronized (writeLock) {
+            origin = today;
+            for (BookingPeriodChangedEvent event : pendingDuringReload) {
+                apply(rebuilt, event);
+            }
+            pendingDuringReload = null;
+            byCar = rebuilt;
+            loaded = true;
+        }
+        log.info("Availability index loaded: {} bookings for {} cars", periods.size(), rebuilt.size());
+    }
+
+    /**
+     * Adds or removes a booking once the transaction that changed it has committed.
+     *
+     * @param event the stored or deleted booking period
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingPeriodChangedEvent event) {
+        synchronized (writeLock) {
+            apply(byCar, event);
+            if (pendingDuringReload != null) {
+                pendingDuringReload.add(event);
+            }
+        }
+    }
+
+    private void apply(Map<Integer, CarBookings> index, BookingPeriodChangedEvent event) {
+        long start = event.startDate().toEpochDay();
+        long end = event.endDate().toEpochDay();
+        CarBookings current = index.getOrDefault(event.carId(), CarBookings.empty(origin, horizonDays));
+        CarBookings updated = event.removed() ? current.without(start, end) : current.with(start, end);
+        if (updated.size() == 0) {
+            index.remove(event.carId());
+        } else {
+            index.put(event.carId(), updated);
+        }
+    }
+
+    /**
+     * Immutable booked periods of one car: sorted interval arrays plus a day bitmap.
+     *
+     * @param starts      first booked epoch day of each period, ascending
+     * @param ends        last booked epoch day of each period
+     * @param maxEndTo    for each position, the latest end among the periods up to it
+     * @param origin      epoch day represented by bit 0 of {@code days}
+     * @param horizonDays number of days covered by {@code days}
+     * @param days        bitmap of booked days, 64 per word
+     */
+    private record CarBookings(long[] starts, long[] ends, long[] maxEndTo,
+                               long origin, int horizonDays, long[] days) {
+
+        static CarBookings empty(long origin, int horizonDays) {
+            return of(new ArrayList<>(), origin, horizonDays);
+        }
+
+        static CarBookings of(List<long[]> periods, long origin, int horizonDays) {
+            periods.sort(Comparator.<long[]>comparingLong(p -> p[0]).thenComparingLong(p -> p[1]));
+            int n = periods.size();
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            long[] maxEndTo = new long[n];
+            long[] days = new long[(horizonDays + 63) >>> 6];
+            long maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                starts[i] = periods.get(i)[0];
+                ends[i] = periods.get(i)[1];
+                maxEnd = Math.max(maxEnd, ends[i]);
+                maxEndTo[i] = maxEnd;
+                long from = Math.max(starts[i], origin);
+                long to = Math.min(ends[i], origin + horizonDays - 1);
+                if (from <= to) {
+                    setRange(days, (int) (from - origin), (int) (to - origin));
+                }
+            }
+            return new CarBookings(starts, ends, maxEndTo, origin, horizonDays, days);
+        }
+
+        int size() {
+            return starts.length;
+        }
+
+        boolean isFree(long from, long to) {
+            if (from >= origin && to < origin + horizonDays) {
+                return !anySet(days, (int) (from - origin), (int) (to - origin));
+            }
+            int last = lastStartingOnOrBefore(to);
+            return last < 0 || maxEndTo[last] < from;
+        }
+
+        boolean isBooked(long day) {
+            if (day >= origin && day < origin + horizonDays) {
+                int offset = (int) (day - origin);
+                return (days[offset >>> 6] & (1L << offset)) != 0;
+            }
+            return !isFree(day, day);
+        }
+
+        CarBookings with(long start, long end) {
+            if (indexOf(start, end) >= 0) {
+                return this;
+            }
+            List<long[]> periods = periods();
+            periods.add(new long[] {start, end});
+            return of(periods, origin, horizonDays);
+        }
+
+        CarBookings without(long start, long end) {
+            int index = indexOf(start, end);
+            if (index < 0) {
+                return this;
+            }
+            List<long[]> periods = periods();
+            periods.remove(index);
+            return of(periods, origin, horizonDays);
+        }
+
+        private static void setRange(long[] words, int from, int to) {
+            for (int bit = from; bit <= to; ) {
+                int last = Math.min(to, bit | 63);
+                words[bit >>> 6] |= mask(bit, last);
+                bit = last + 1;
+            }
+        }
+
+        private static boolean anySet(long[] words, int from, int to) {
+            for (int bit = from; bit <= to; ) {
+                int last = Math.min(to, bit | 63);
+                if ((words[bit >>> 6] & mask(bit, last)) != 0) {
+                    return true;
+                }
+                bit = last + 1;
+            }
+            return false;
+        }
+
+        /** Bits {@code from..to} of one word, both given as absolute bit positions in the same word. */
+        private static long mask(int from, int to) {
+            return (-1L << from) & (-1L >>> (63 - (to & 63)));
+        }
+
+        private int lastStartingOnOrBefore(long day) {
+            int low = 0;
+            int high = starts.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+
+        private int indexOf(long start, long end) {
+            int i = Arrays.binarySearch(starts, start);
+            if (i < 0) {
+                return -1;
+            }
+            while (i > 0 && starts[i - 1] == start) {
+                i--;
+            }
+            for (; i < starts.length && starts[i] == start; i++) {
+                if (ends[i] == end) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private List<long[]> periods() {
+            List<long[]> periods = new ArrayList<>(starts.length + 1);
+            for (int i = 0; i < starts.length; i++) {
+                periods.add(new long[] {starts[i], ends[i]});
+            }
+            return periods;
+        }
+    }
+}
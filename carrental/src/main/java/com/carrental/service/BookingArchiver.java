@@ -0,0 +1,116 @@
+package com.carrental.service;
+
+import com.carrental.repository.BookingArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Maintains the monthly partitions of the {@code bookings} table and archives completed rentals.
+ * <p>
+ * When the application is ready and on every archive run, the partitions of the current
+ * month and the next <code>booking.partitions.months-ahead</code> months are created if
+ * missing, so new bookings do not end up in the default partition. The archive job
+ * (<code>booking.archive.cron</code>, nightly by default) moves the bookings that ended
+ * before the first day of the month <code>booking.archive.after-months</code> months ago
+ * to {@code bookings_archive} and drops the monthly partitions this leaves empty.
+ * Archived bookings are read through {@link BookingService#getArchivedBookingDto(Integer)}
+ * and {@link BookingService#getArchivedBookingPageByUser(Integer, Integer, Integer)}.
+ * <p>
+ * The statements run in transactions of their own and are safe to run concurrently
+ * from several instances.
+ */
+@Component
+public class BookingArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingArchiver.class);
+
+    private final BookingArchiveRepository archiveRepository;
+    private final int monthsAhead;
+    private final int archiveAfterMonths;
+    private final Clock clock;
+    private final Counter archived;
+
+    /**
+     * Constructs the archiver.
+     *
+     * @param archiveRepository  repository moving bookings and maintaining partitions
+     * @param monthsAhead        number of months after the current one to keep partitions for
+     * @param archiveAfterMonths number of whole months a rental is kept after it ended
+     * @param meterRegistry      registry of the {@code bookings.archived} counter
+     */
+    @Autowired
+    public BookingArchiver(BookingArchiveRepository archiveRepository,
+                           @Value("${booking.partitions.months-ahead:12}") int monthsAhead,
+                           @Value("${booking.archive.after-months:24}") int archiveAfterMonths,
+                           MeterRegistry meterRegistry) {
+        this(archiveRepository, monthsAhead, archiveAfterMonths, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    BookingArchiver(BookingArchiveRepository archiveRepository, int monthsAhead, int archiveAfterMonths,
+                    MeterRegistry meterRegistry, Clock clock) {
+        this.archiveRepository = archiveRepository;
+        this.monthsAhead = monthsAhead;
+        this.archiveAfterMonths = archiveAfterMonths;
+        this.clock = clock;
+        this.archived = Counter.builder("bookings.archived")
+                .description("Completed bookings moved to the archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the missing partitions of the current month and the months ahead.
+     *
+     * @return the number of partitions created
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int createPartitions() {
+        LocalDate month = LocalDate.now(clock).withDayOfMonth(1);
+        int created = 0;
+        try {
+            for (int i = 0; i <= monthsAhead; i++) {
+                if (archiveRepository.createPartition(month.plusMonths(i))) {
+                    created++;
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Creating booking partitions failed", ex);
+        }
+        if (created > 0) {
+            log.info("Created {} booking partitions", created);
+        }
+        return created;
+    }
+
+    /**
+     * Moves the bookings that ended before the archive cutoff to the archive and drops
+     * the partitions left empty.
+     *
+     * @return the number of bookings archived
+     */
+    @Scheduled(cron = "${booking.archive.cron:0 30 3 * * *}")
+    public int archive() {
+        createPartitions();
+        LocalDate before = LocalDate.now(clock).withDayOfMonth(1).minusMonths(archiveAfterMonths);
+        try {
+            int moved = archiveRepository.archiveEndedBefore(before);
+            int dropped = archiveRepository.dropEmptyPartitions(before);
+            archived.increment(moved);
+            log.info("Archived {} bookings ended before {}, dropped {} empty partitions", moved, before, dropped);
+            return moved;
+        } catch (RuntimeException ex) {
+            log.warn("Archiving bookings ended before {} failed", before, ex);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.carrental.service;
+
+import com.carrental.dto.BookingBatchResultDto;
+import com.carrental.dto.BookingRequestDto;
+import com.carrental.exception.CarNotAvailableException;
+import com.carrental.exception.CurrencyConversionException;
+import com.carrental.exception.InvalidBookingRequestException;
+import com.carrental.integration.CurrencyConverter;
+import com.carrental.mapper.BookingMapper;
+import com.carrental.model.Booking;
+import com.carrental.model.Car;
+import com.carrental.model.User;
+import com.carrental.repository.BookedPeriod;
+import com.carrental.repository.BookingRepository;
+import com.carrental.repository.CarRepository;
+import com.carrental.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for creating many bookings in one request.
+ * <p>
+ * The entries of a batch are checked together instead of one by one:
+ * <ol>
+ *   <li>Validate every entry and start one exchange-rate lookup per distinct currency</li>
+ *   <li>Load all referenced users and cars with one {@code IN} query each</li>
+ *   <li>Lock the bookings of all referenced cars in a deadlock-free order</li>
+ *   <li>Load the existing bookings of those cars with one query and check every entry
+ *       against them and against the entries accepted before it</li>
+ *   <li>Insert the accepted entries with JDBC batching</li>
+ * </ol>
+ * Rejected entries do not affect the others; the outcome of each entry is reported
+ * individually as a {@link BookingBatchResultDto}. The size of a batch is limited by
+ * <code>booking.batch.max-size</code>.
+ */
+@Service
+@Transactional
+public class BookingBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingBatchService.class);
+
+    private final BookingRepository bookingRepo;
+    private final BookingMapper mapper;
+    private final CarRepository carRepo;
+    private final UserRepository userRepo;
+    private final CurrencyConverter currencyClient;
+    private final CarBookingLock carBookingLock;
+    private final int maxBatchSize;
+
+    /**
+     * Constructs a BookingBatchService with the required dependencies.
+     *
+     * @param bookingRepo    repository for booking entities
+     * @param mapper         mapper between Booking and BookingDto
+     * @param carRepo        repository for car entities
+     * @param userRepo       repository for user entities
+     * @param currencyClient client for performing currency conversions
+     * @param carBookingLock lock serializing bookings of the same car
+     * @param maxBatchSize   maximum number of entries accepted in one batch
+     */
+    public BookingBatchService(BookingRepository bookingRepo,
+                               BookingMapper mapper,
+                               CarRepository carRepo,
+                               UserRepository userRepo,
+                               CurrencyConverter currencyClient,
+                               CarBookingLock carBookingLock,
+                               @Value("${booking.batch.max-size:100}") int maxBatchSize) {
+        this.bookingRepo = bookingRepo;
+        this.mapper = mapper;
+        this.carRepo = carRepo;
+        this.userRepo = userRepo;
+        this.currencyClient = currencyClient;
+        this.carBookingLock = carBookingLock;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Creates the bookings of a batch, skipping entries that cannot be booked.
+     *
+     * @param requests the booking requests, in the order they should be considered
+     * @return one result per request, in the order of the requests
+     * @throws InvalidBookingRequestException if the batch is empty or too large
+     * @throws CarNotAvailableException       if another client booked one of the cars concurrently
+     */
+    public List<BookingBatchResultDto> createBookings(List<BookingRequestDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidBookingRequestException("Batch must contain at least one booking");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new InvalidBookingRequestException(
+                    "Batch must not contain more than " + maxBatchSize + " bookings");
+        }
+
+        BookingBatchResultDto[] results = new BookingBatchResultDto[requests.size()];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String problem = validate(requests.get(i));
+            if (problem != null) {
+                results[i] = rejected(i, HttpStatus.BAD_REQUEST, problem);
+            } else {
+                pending.add(i);
+            }
+        }
+
+        Map<String, CompletableFuture<BigDecimal>> pendingRates = new HashMap<>();
+        for (int i : pending) {
+            pendingRates.computeIfAbsent(currencyOf(requests.get(i)), currencyClient::rateForAsync);
+        }
+
+        Set<Integer> userIds = new TreeSet<>();
+        Set<Integer> carIds = new TreeSet<>();
+        for (int i : pending) {
+            userIds.add(requests.get(i).userId());
+            carIds.add(requests.get(i).carId().intValue());
+        }
+        Map<Integer, User> users = userRepo.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Integer, Car> cars = carRepo.findByIdIn(carIds).stream()
+                .collect(Collectors.toMap(Car::getId, Function.identity()));
+
+        List<Integer> found = new ArrayList<>();
+        for (int i : pending) {
+            BookingRequestDto req = requests.get(i);
+            if (!users.containsKey(req.userId())) {
+                results[i] = rejected(i, HttpStatus.NOT_FOUND, "User not found with ID: " + req.userId());
+            } else if (!cars.containsKey(req.carId().intValue())) {
+                results[i] = rejected(i, HttpStatus.NOT_FOUND, "Car not found with ID: " + req.carId());
+            } else {
+                found.add(i);
+            }
+        }
+
+        List<Integer> accepted = found.isEmpty() ? List.of() : checkAvailability(requests, found, results);
+
+        Map<String, BigDecimal> rates = new HashMap<>();
+        List<Booking> entities = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            BookingRequestDto req = requests.get(i);
+            Car car = cars.get(req.carId().intValue());
+            String currency = currencyOf(req);
+            BigDecimal rate = rates.computeIfAbsent(currency, c -> awaitRate(c, pendingRates.get(c)));
+            long days = ChronoUnit.DAYS.between(req.startDate(), req.endDate());
+            BigDecimal costUsd = car.getPricePerDay().multiply(BigDecimal.valueOf(days));
+
+            Booking entity = new Booking(
+                    users.get(req.userId()), car,
+                    req.startDate(), req.endDate(),
+                    car.getPricePerDay(), currency);
+            entity.setTotalCost(costUsd.multiply(rate));
+            entities.add(entity);
+        }
+
+        List<Booking> saved;
+        try {
+            saved = bookingRepo.saveAllAndFlush(entities);
+        } catch (DataIntegrityViolationException ex) {
+            if (BookingService.isOverlapViolation(ex)) {
+                throw new CarNotAvailableException(carIds);
+            }
+            throw ex;
+        }
+        for (int k = 0; k < accepted.size(); k++) {
+            int i = accepted.get(k);
+            results[i] = new BookingBatchResultDto(i, HttpStatus.CREATED.value(), mapper.toDto(saved.get(k)), null);
+        }
+        log.info("Batch of {} bookings: {} created, {} rejected",
+                requests.size(), accepted.size(), requests.size() - accepted.size());
+        return List.of(results);
+    }
+
+    /**
+     * Locks the cars of the given entries and keeps those that overlap neither an existing
+     * booking nor an entry accepted earlier in the same batch.
+     *
+     * @param requests all requests of the batch
+     * @param found    indexes of the entries whose user and car exist
+     * @param results  result slots, filled for the rejected entries
+     * @return indexes of the accepted entries, in batch order
+     */
+    private List<Integer> checkAvailability(List<BookingRequestDto> requests, List<Integer> found,
+                                            BookingBatchResultDto[] results) {
+        Set<Integer> carIds = new TreeSet<>();
+        LocalDate from = LocalDate.MAX;
+        LocalDate to = LocalDate.MIN;
+        for (int i : found) {
+            BookingRequestDto req = requests.get(i);
+            carIds.add(req.carId().intValue());
+            from = req.startDate().isBefore(from) ? req.startDate() : from;
+            to = req.endDate().isAfter(to) ? req.endDate() : to;
+        }
+
+        carBookingLock.lockAllUntilCompletion(carIds);
+        Map<Integer, List<BookedPeriod>> booked = new HashMap<>();
+        for (BookedPeriod period : bookingRepo.findBookedPeriodsOfCars(carIds, from, to)) {
+            booked.computeIfAbsent(period.carId(), id -> new ArrayList<>()).add(period);
+        }
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i : found) {
+            BookingRequestDto req = requests.get(i);
+            Integer carId = req.carId().intValue();
+            List<BookedPeriod> periods = booked.computeIfAbsent(carId, id -> new ArrayList<>());
+            boolean overlapping = periods.stream().anyMatch(p ->
+                    !p.startDate().isAfter(req.endDate()) && !p.endDate().isBefore(req.startDate()));
+            if (overlapping) {
+                results[i] = rejected(i, HttpStatus.CONFLICT, new CarNotAvailableException(carId).getMessage());
+            } else {
+                periods.add(new BookedPeriod(carId, req.startDate(), req.endDate()));
+                accepted.add(i);
+            }
+        }
+        return accepted;
+    }
+
+    private BigDecimal awaitRate(String currency, CompletableFuture<BigDecimal> pendingRate) {
+        try {
+            return currencyClient.await(pendingRate);
+        } catch (CurrencyConversionException ex) {
+            log.warn("Currency conversion to {} failed – falling back to USD", currency, ex);
+            return BigDecimal.ONE;
+        }
+    }
+
+    private static String validate(BookingRequestDto req) {
+        if (req == null || req.userId() == null || req.carId() == null
+                || req.startDate() == null || req.endDate() == null) {
+            return "userId, carId, startDate and endDate are required";
+        }
+        if (req.startDate().isAfter(req.endDate())) {
+            return "startDate must be before endDate";
+        }
+        return null;
+    }
+
+    private static String currencyOf(BookingRequestDto req) {
+        return req.currency() == null || req.currency().isBlank() ? "USD" : req.currency().toUpperCase();
+    }
+
+    private static BookingBatchResultDto rejected(int index, HttpStatus status, String error) {
+        return new BookingBatchResultDto(index, status.value(), null, error);
+    }
+}
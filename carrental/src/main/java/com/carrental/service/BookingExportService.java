@@ -0,0 +1,76 @@
+package com.carrental.service;
+
+import com.carrental.dto.BookingDto;
+import com.carrental.repository.BookingRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service for exporting all bookings as newline-delimited JSON (NDJSON).
+ * <p>
+ * Bookings are read from a database cursor and each one is written to the output as
+ * soon as it arrives, so heap use stays constant regardless of the number of bookings.
+ */
+@Service
+public class BookingExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingExportService.class);
+
+    /** Number of rows written between two flushes of the output. */
+    private static final int FLUSH_EVERY = 500;
+
+    private final BookingRepository bookingRepo;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    /**
+     * Constructs a BookingExportService with the required dependencies.
+     *
+     * @param bookingRepo  repository for booking entities
+     * @param objectMapper mapper used to serialize each booking
+     */
+    public BookingExportService(BookingRepository bookingRepo, ObjectMapper objectMapper) {
+        this.bookingRepo = bookingRepo;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(BookingDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every booking, ordered by ID, as one JSON object per line.
+     * The output stream is flushed but not closed.
+     *
+     * @param out the stream to write to
+     * @return the number of bookings written
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public long writeNdjson(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<BookingDto> bookings = bookingRepo.streamAllAsDtos();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (Iterator<BookingDto> it = bookings.iterator(); it.hasNext(); ) {
+                writer.writeValue(generator, it.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.info("Exported {} bookings", count);
+        return count;
+    }
+}
@@ -1,30 +1,39 @@
 package com.carrental.service;
 
 import com.carrental.dto.BookingDto;
+import com.carrental.dto.BookingPageDto;
 import com.carrental.dto.BookingRequestDto;
 import com.carrental.exception.*;
-import com.carrental.integration.CurrencyConverterClient;
+import com.carrental.integration.CurrencyConverter;
 import com.carrental.mapper.BookingMapper;
 import com.carrental.model.Booking;
 import com.carrental.model.Car;
 import com.carrental.model.User;
+import com.carrental.repository.BookingArchiveRepository;
 import com.carrental.repository.BookingRepository;
 import com.carrental.repository.CarRepository;
 import com.carrental.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service for managing bookings.
  * <p>
  * Provides methods to create, retrieve, and delete bookings,
  * including validation, availability checks, and currency conversion.
+ * Completed bookings moved to the archive by the {@link BookingArchiver}
+ * are retrieved through the separate {@code getArchived*} methods.
  */
 @Service
 @Transactional
@@ -32,11 +41,18 @@ public class BookingService {
 
     private static final Logger log = LoggerFactory.getLogger(BookingService.class);
 
+    /** PostgreSQL SQLSTATE for a violated exclusion constraint. */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final BookingRepository bookingRepo;
     private final BookingMapper mapper;
     private final CarRepository carRepo;
     private final UserRepository userRepo;
-    private final CurrencyConverterClient currencyClient;
+    private final CurrencyConverter currencyClient;
+    private final CarBookingLock carBookingLock;
+    private final BookingArchiveRepository archiveRepo;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     /**
      * Constructs a BookingService with the required dependencies.
@@ -46,28 +62,45 @@ public class BookingService {
      * @param carRepo          repository for car entities
      * @param userRepo         repository for user entities
      * @param currencyClient   client for performing currency conversions
+     * @param carBookingLock   lock serializing bookings of the same car
+     * @param archiveRepo      repository for archived bookings
      * @param bookingRepository duplicate parameter for compatibility
+     * @param defaultPageSize  page size of booking listings when none is requested
+     * @param maxPageSize      largest page size a booking listing may request
      */
     public BookingService(BookingRepository bookingRepo,
                           BookingMapper mapper,
                           CarRepository carRepo,
                           UserRepository userRepo,
-                          CurrencyConverterClient currencyClient,
-                          BookingRepository bookingRepository) {
+                          CurrencyConverter currencyClient,
+                          CarBookingLock carBookingLock,
+                          BookingArchiveRepository archiveRepo,
+                          BookingRepository bookingRepository,
+                          @Value("${booking.page.default-size:50}") int defaultPageSize,
+                          @Value("${booking.page.max-size:200}") int maxPageSize) {
         this.bookingRepo = bookingRepo;
         this.mapper = mapper;
         this.carRepo = carRepo;
         this.userRepo = userRepo;
         this.currencyClient = currencyClient;
+        this.carBookingLock = carBookingLock;
+        this.archiveRepo = archiveRepo;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
-     * Retrieves all bookings as DTOs.
+     * Retrieves one page of all bookings, ordered by ID.
      *
-     * @return list of BookingDto representing all bookings
+     * @param after ID of the last booking of the previous page, or {@code null} for the first page
+     * @param limit requested page size, or {@code null} for the default; capped at the maximum page size
+     * @return the page of bookings and the cursor of the next page
+     * @throws InvalidBookingRequestException if the page size is not positive
      */
-    public List<BookingDto> getAllBookingDtos() {
-        return mapper.toDtoList(bookingRepo.findAll());
+    @Transactional(readOnly = true)
+    public BookingPageDto getBookingPage(Integer after, Integer limit) {
+        int size = pageSize(limit);
+        return toPage(bookingRepo.findDtosAfter(cursor(after), Limit.of(size + 1)), size);
     }
 
     /**
@@ -77,20 +110,54 @@ public class BookingService {
      * @return the BookingDto for the specified ID
      * @throws EntityNotFoundException if no booking exists with the given ID
      */
+    @Transactional(readOnly = true)
     public BookingDto getBookingDto(Integer id) {
-        Booking entity = bookingRepo.findById(id)
+        return bookingRepo.findDtoById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Booking", id));
+    }
+
+    /**
+     * Retrieves one page of the bookings of a specific user, ordered by ID.
+     *
+     * @param userId the ID of the user
+     * @param after  ID of the last booking of the previous page, or {@code null} for the first page
+     * @param limit  requested page size, or {@code null} for the default; capped at the maximum page size
+     * @return the page of the user's bookings and the cursor of the next page
+     * @throws InvalidBookingRequestException if the page size is not positive
+     */
+    @Transactional(readOnly = true)
+    public BookingPageDto getBookingPageByUser(Integer userId, Integer after, Integer limit) {
+        int size = pageSize(limit);
+        return toPage(bookingRepo.findDtosOfUserAfter(userId, cursor(after), Limit.of(size + 1)), size);
+    }
+
+    /**
+     * Retrieves a booking that has been moved to the archive.
+     *
+     * @param id the ID of the booking
+     * @return the BookingDto for the specified ID
+     * @throws EntityNotFoundException if no archived booking exists with the given ID
+     * @see BookingArchiver
+     */
+    @Transactional(readOnly = true)
+    public BookingDto getArchivedBookingDto(Integer id) {
+        return archiveRepo.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Booking", id));
-        return mapper.toDto(entity);
     }
 
     /**
-     * Retrieves all bookings for a specific user.
+     * Retrieves one page of the archived bookings of a specific user, ordered by ID.
      *
      * @param userId the ID of the user
-     * @return list of BookingDto for the specified user
+     * @param after  ID of the last booking of the previous page, or {@code null} for the first page
+     * @param limit  requested page size, or {@code null} for the default; capped at the maximum page size
+     * @return the page of the user's archived bookings and the cursor of the next page
+     * @throws InvalidBookingRequestException if the page size is not positive
      */
-    public List<BookingDto> getBookingDtosByUser(Integer userId) {
-        return mapper.toDtoList(bookingRepo.findByBookedBy_Id(userId));
+    @Transactional(readOnly = true)
+    public BookingPageDto getArchivedBookingPageByUser(Integer userId, Integer after, Integer limit) {
+        int size = pageSize(limit);
+        return toPage(archiveRepo.findDtosOfUserAfter(userId, cursor(after), Limit.of(size + 1)), size);
     }
 
     /**
@@ -99,12 +166,21 @@ public class BookingService {
      * Steps:
      * <ol>
      *   <li>Validate date range (startDate ≤ endDate)</li>
+     *   <li>Start the exchange-rate lookup in the background</li>
      *   <li>Ensure user and car exist</li>
-     *   <li>Check car availability (no overlapping bookings)</li>
      *   <li>Calculate total cost in USD</li>
      *   <li>Convert to requested currency, fallback to USD on failure</li>
+     *   <li>Lock the car's bookings for the rest of the transaction</li>
+     *   <li>Check car availability (no overlapping bookings)</li>
      *   <li>Persist booking entity and return DTO</li>
      * </ol>
+     * Concurrent bookings of the same car are serialized by a {@link CarBookingLock} held
+     * until the transaction completes, so the availability check and the insert cannot
+     * interleave; bookings of other cars are not blocked. In the database the
+     * {@code bookings_no_overlap} trigger takes the same per-car lock and rejects a booking
+     * overlapping one in any monthly partition, also for rows written by other clients or
+     * while {@link CarBookingLock} only locks within this JVM; its exclusion violation is
+     * reported as {@link CarNotAvailableException} as well.
      *
      * @param req the BookingRequestDto containing booking details
      * @return the created BookingDto
@@ -117,35 +193,46 @@ public class BookingService {
             throw new InvalidBookingRequestException("startDate must be before endDate");
         }
 
+        CompletableFuture<BigDecimal> pendingRate = currencyClient.rateForAsync(req.currency());
+
         User user = userRepo.findById(req.userId())
                 .orElseThrow(() -> new EntityNotFoundException("User", req.userId()));
         Car car = carRepo.findById(req.carId())
                 .orElseThrow(() -> new EntityNotFoundException("Car", req.carId()));
 
-        boolean overlapping = bookingRepo.existsOverlapping(
-                car.getId(), req.startDate(), req.endDate());
-        if (overlapping) {
-            throw new CarNotAvailableException(car.getId());
-        }
-
         long days = ChronoUnit.DAYS.between(req.startDate(), req.endDate());
         BigDecimal costUsd = car.getPricePerDay().multiply(BigDecimal.valueOf(days));
 
         BigDecimal totalCost;
         try {
-            totalCost = currencyClient.convert(costUsd, req.currency());
+            totalCost = costUsd.multiply(currencyClient.await(pendingRate));
         } catch (CurrencyConversionException ex) {
             log.warn("Currency conversion failed – falling back to USD", ex);
             totalCost = costUsd;
         }
 
+        carBookingLock.lockUntilCompletion(car.getId());
+        boolean overlapping = bookingRepo.existsOverlapping(
+                car.getId(), req.startDate(), req.endDate());
+        if (overlapping) {
+            throw new CarNotAvailableException(car.getId());
+        }
+
         Booking entity = new Booking(
                 user, car,
                 req.startDate(), req.endDate(),
                 car.getPricePerDay(), req.currency().toUpperCase());
         entity.setTotalCost(totalCost);
 
-        Booking saved = bookingRepo.save(entity);
+        Booking saved;
+        try {
+            saved = bookingRepo.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException ex) {
+            if (isOverlapViolation(ex)) {
+                throw new CarNotAvailableException(car.getId());
+            }
+            throw ex;
+        }
         log.info("Booked car {} for user {}: {} {}",
                 car.getId(), user.getId(), totalCost, req.currency().toUpperCase());
 
@@ -165,4 +252,44 @@ public class BookingService {
         }
         bookingRepo.deleteById(id);
     }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new InvalidBookingRequestException("limit must be positive");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private static int cursor(Integer after) {
+        return after == null ? 0 : after;
+    }
+
+    /**
+     * Builds a page from a result fetched with one row more than the page size;
+     * the extra row only signals that another page follows.
+     */
+    private static BookingPageDto toPage(List<BookingDto> fetched, int size) {
+        boolean more = fetched.size() > size;
+        List<BookingDto> items = more ? List.copyOf(fetched.subList(0, size)) : fetched;
+        Integer next = more ? items.get(items.size() - 1).id() : null;
+        return new BookingPageDto(items, next);
+    }
+
+    /**
+     * Tells whether a failed insert was rejected by the booking overlap exclusion constraint.
+     *
+     * @param ex the exception raised while storing a booking
+     * @return {@code true} if PostgreSQL reported an exclusion violation (SQLSTATE 23P01)
+     */
+    static boolean isOverlapViolation(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
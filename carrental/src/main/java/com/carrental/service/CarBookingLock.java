@@ -0,0 +1,140 @@
+package com.carrental.service;
+
+import com.carrental.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes bookings of the same car for the rest of the current transaction.
+ * <p>
+ * Two modes are supported via <code>booking.lock.mode</code>:
+ * <ul>
+ *   <li>{@code database} (default) – a PostgreSQL advisory lock per car; works across
+ *       any number of application instances.</li>
+ *   <li>{@code local} – striped in-JVM locks keyed by car ID, for single-instance
+ *       deployments. Same-car bookings serialize without a database round trip, bookings
+ *       of cars on different stripes proceed in parallel. Writes from other instances or
+ *       clients are still kept from overlapping by the {@code bookings_no_overlap} trigger,
+ *       which takes the database lock of the car when the booking is inserted.</li>
+ * </ul>
+ * In local mode the lock is released after the transaction has committed or rolled
+ * back, so the next booking of the car sees the committed row. Wait time and contended
+ * acquisitions are recorded per stripe as <code>booking.lock.wait</code> and
+ * <code>booking.lock.contended</code>.
+ */
+@Component
+public class CarBookingLock {
+
+    private final BookingRepository bookingRepository;
+    private final boolean local;
+    private final ReentrantLock[] stripes;
+    private final Timer[] waitTimers;
+    private final Counter[] contendedCounters;
+
+    /**
+     * Constructs the lock.
+     *
+     * @param bookingRepository repository providing the database lock
+     * @param mode              {@code database} or {@code local}
+     * @param stripeCount       number of in-JVM lock stripes, rounded up to a power of two
+     * @param meterRegistry     registry for the local lock metrics
+     */
+    public CarBookingLock(BookingRepository bookingRepository,
+                          @Value("${booking.lock.mode:database}") String mode,
+                          @Value("${booking.lock.stripes:64}") int stripeCount,
+                          MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.local = "local".equalsIgnoreCase(mode);
+        int size = !local ? 0 : stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.waitTimers = new Timer[size];
+        this.contendedCounters = new Counter[size];
+        for (int i = 0; i < size; i++) {
+            String stripe = Integer.toString(i);
+            stripes[i] = new ReentrantLock();
+            waitTimers[i] = Timer.builder("booking.lock.wait")
+                    .description("Time spent waiting for a car booking lock")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            contendedCounters[i] = Counter.builder("booking.lock.contended")
+                    .description("Booking lock acquisitions that had to wait")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Locks the bookings of a car until the current transaction completes.
+     *
+     * @param carId the ID of the car about to be booked
+     * @throws IllegalStateException if no transaction is active
+     */
+    public void lockUntilCompletion(Integer carId) {
+        if (!local) {
+            bookingRepository.lockCarBookings(carId);
+            return;
+        }
+        lockAllUntilCompletion(List.of(carId));
+    }
+
+    /**
+     * Locks the bookings of several cars until the current transaction completes.
+     * <p>
+     * The locks are always taken in the same global order – by car ID in the database,
+     * by stripe in the JVM – so two transactions locking overlapping sets of cars cannot
+     * deadlock. Cars sharing a stripe take it only once.
+     *
+     * @param carIds the IDs of the cars about to be booked
+     * @throws IllegalStateException if no transaction is active
+     */
+    public void lockAllUntilCompletion(Collection<Integer> carIds) {
+        if (carIds.isEmpty()) {
+            return;
+        }
+        if (!local) {
+            bookingRepository.lockCarsBookings(carIds);
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Car booking locks require an active transaction");
+        }
+        carIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .forEach(this::lockStripe);
+    }
+
+    private void lockStripe(int stripe) {
+        ReentrantLock lock = stripes[stripe];
+        if (lock.tryLock()) {
+            waitTimers[stripe].record(0, TimeUnit.NANOSECONDS);
+        } else {
+            contendedCounters[stripe].increment();
+            long start = System.nanoTime();
+            lock.lock();
+            waitTimers[stripe].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private int stripeOf(Integer carId) {
+        int h = carId.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+}
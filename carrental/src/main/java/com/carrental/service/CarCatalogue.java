@@ -0,0 +1,511 @@
+package com.carrental.service;
+
+import com.carrental.model.Car;
+import com.carrental.model.CarChangedEvent;
+import com.carrental.model.FuelType;
+import com.carrental.repository.CarRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Read-optimized, column-wise in-memory snapshot of the {@code cars} table.
+ * <p>
+ * Every car occupies one row across primitive column arrays: year and price (in cents)
+ * as {@code int}/{@code long}, make, model, color and pickup location as codes into
+ * per-column dictionaries, and the fuel type as its enum ordinal. Each make, pickup
+ * location and fuel type value, as well as the transmission and availability flags, has
+ * a bitmap of the rows holding it, so a search is a sequence of bitmap intersections
+ * followed by one scan of the remaining rows for the range filters.
+ * <p>
+ * The catalogue is loaded when the application is ready and reconciled with the database
+ * periodically (<code>car.catalogue.reconcile-interval</code>). In between, each committed
+ * {@link CarChangedEvent} – published whenever a car is stored or deleted, including by
+ * {@code bookCar}/{@code returnCar} – rewrites that car's row and flips its bits in the
+ * affected bitmaps in place. Searches share a read lock, so they only wait while a single
+ * row is being rewritten; a reload builds a new snapshot and swaps it in. Until the first
+ * load has completed, {@link #isLoaded()} returns {@code false} and callers should ask the
+ * database instead.
+ * Setting <code>car.catalogue.enabled</code> to {@code false} keeps it unloaded.
+ */
+@Component
+public class CarCatalogue {
+
+    private static final Logger log = LoggerFactory.getLogger(CarCatalogue.class);
+
+    private final CarRepository carRepository;
+    private final boolean enabled;
+    private final Object writeLock = new Object();
+    private final ReadWriteLock rowLock = new ReentrantReadWriteLock();
+
+    private volatile Columns columns = new Columns(0);
+    private volatile boolean loaded;
+    private List<CarChange> pendingDuringReload;
+
+    /**
+     * Constructs the catalogue.
+     *
+     * @param carRepository repository used to load the cars
+     * @param enabled       whether the catalogue is loaded at all
+     */
+    public CarCatalogue(CarRepository carRepository,
+                        @Value("${car.catalogue.enabled:true}") boolean enabled) {
+        this.carRepository = carRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Indicates whether the catalogue has been loaded and can answer searches.
+     *
+     * @return {@code true} once the first load has completed
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Searches the cars marked available.
+     *
+     * @param query the filters, sort order and page
+     * @return the requested page, the number of matching cars and the facet counts
+     */
+    public Result search(Query query) {
+        rowLock.readLock().lock();
+        try {
+            return search(columns, query);
+        } finally {
+            rowLock.readLock().unlock();
+        }
+    }
+
+    private static Result search(Columns c, Query query) {
+        BitSet common = (BitSet) c.available.clone();
+        long minCents = query.minPrice() == null ? Long.MIN_VALUE
+                : query.minPrice().movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact();
+        long maxCents = query.maxPrice() == null ? Long.MAX_VALUE
+                : query.maxPrice().movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact();
+        int minYear = query.minYear() == null ? Integer.MIN_VALUE : query.minYear();
+        int maxYear = query.maxYear() == null ? Integer.MAX_VALUE : query.maxYear();
+        for (int row = common.nextSetBit(0); row >= 0; row = common.nextSetBit(row + 1)) {
+            if (c.years[row] < minYear || c.years[row] > maxYear
+                    || c.priceCents[row] < minCents || c.priceCents[row] > maxCents
+                    || (query.free() != null && !query.free().test(c.ids[row]))) {
+                common.clear(row);
+            }
+        }
+
+        BitSet make = c.anyOf(c.byMake, c.makes, query.makes());
+        BitSet fuelType = c.anyFuelType(query.fuelTypes());
+        BitSet automatic = c.transmission(query.automatic());
+        BitSet location = c.anyOf(c.byLocation, c.locations, query.locations());
+
+        BitSet matching = and(common, make, fuelType, automatic, location);
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("make", c.count(and(common, fuelType, automatic, location), row -> c.makes.values.get(c.makeCodes[row])));
+        facets.put("fuelType", c.count(and(common, make, automatic, location), row -> FuelType.values()[c.fuelTypes[row]].name()));
+        facets.put("automatic", c.count(and(common, make, fuelType, location), row -> String.valueOf(c.automatic.get(row))));
+        facets.put("pickupLocation", c.count(and(common, make, fuelType, automatic), row -> c.locations.values.get(c.locationCodes[row])));
+
+        Integer[] rows = matching.stream().boxed().toArray(Integer[]::new);
+        Arrays.sort(rows, c.order(query.sortProperty(), query.descending()));
+        int from = (int) Math.min((long) query.page() * query.size(), rows.length);
+        int to = Math.min(from + query.size(), rows.length);
+        List<CatalogueCar> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            items.add(c.car(rows[i]));
+        }
+        return new Result(items, rows.length, facets);
+    }
+
+    /**
+     * Lists the cars marked available that pass the given check, in catalogue order.
+     *
+     * @param free tells whether a car ID is free in the requested period
+     * @return the matching cars
+     */
+    public List<CatalogueCar> available(IntPredicate free) {
+        rowLock.readLock().lock();
+        try {
+            Columns c = columns;
+            List<CatalogueCar> cars = new ArrayList<>();
+            for (int row = c.available.nextSetBit(0); row >= 0; row = c.available.nextSetBit(row + 1)) {
+                if (free.test(c.ids[row])) {
+                    cars.add(c.car(row));
+                }
+            }
+            return cars;
+        } finally {
+            rowLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the catalogue with the cars currently stored in the database.
+     * Changes committed while the cars are being read are replayed afterwards.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${car.catalogue.reconcile-interval:PT15M}",
+               initialDelayString = "${car.catalogue.reconcile-interval:PT15M}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            pendingDuringReload = new ArrayList<>();
+        }
+        List<Car> cars;
+        try {
+            cars = carRepository.findAll();
+        } catch (RuntimeException ex) {
+            synchronized (writeLock) {
+                pendingDuringReload = null;
+            }
+            log.warn("Loading the car catalogue failed", ex);
+            return;
+        }
+
+        Columns rebuilt = new Columns(cars.size());
+        for (Car car : cars) {
+            rebuilt.put(car);
+        }
+        synchronized (writeLock) {
+            for (CarChange change : pendingDuringReload) {
+                change.applyTo(rebuilt);
+            }
+            pendingDuringReload = null;
+            log.info("Car catalogue loaded: {} cars, {} makes, {} pickup locations",
+                    cars.size(), rebuilt.makes.values.size(), rebuilt.locations.values.size());
+            columns = rebuilt;
+            loaded = true;
+        }
+    }
+
+    /**
+     * Replaces or removes a car's row once the transaction that changed it has committed.
+     *
+     * @param event the stored or deleted car
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Car car = event.pricePerDay() == null ? null
+                : carRepository.findById(event.carId().longValue()).orElse(null);
+        CarChange change = new CarChange(event.carId(), car);
+        synchronized (writeLock) {
+            rowLock.writeLock().lock();
+            try {
+                change.applyTo(columns);
+            } finally {
+                rowLock.writeLock().unlock();
+            }
+            if (pendingDuringReload != null) {
+                pendingDuringReload.add(change);
+            }
+        }
+    }
+
+    private static BitSet and(BitSet base, BitSet... masks) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet mask : masks) {
+            if (mask != null) {
+                result.and(mask);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Filters, sort order and page of a catalogue search. Collections that are
+     * {@code null} or empty and bounds that are {@code null} do not restrict the result.
+     *
+     * @param makes        accepted makes
+     * @param fuelTypes    accepted fuel types
+     * @param automatic    required transmission
+     * @param locations    accepted pickup locations
+     * @param minYear      earliest manufacturing year (inclusive)
+     * @param maxYear      latest manufacturing year (inclusive)
+     * @param minPrice     lowest daily USD price (inclusive)
+     * @param maxPrice     highest daily USD price (inclusive)
+     * @param free         tells whether a car ID is free in the requested period
+     * @param sortProperty {@code pricePerDay}, {@code year}, {@code make} or {@code model}; ties by ID
+     * @param descending   whether to sort in descending order
+     * @param page         zero-based page number
+     * @param size         page size
+     */
+    public record Query(Collection<String> makes, Collection<FuelType> fuelTypes, Boolean automatic,
+                        Collection<String> locations, Integer minYear, Integer maxYear,
+                        BigDecimal minPrice, BigDecimal maxPrice, IntPredicate free,
+                        String sortProperty, boolean descending, int page, int size) {}
+
+    /**
+     * Outcome of a catalogue search.
+     *
+     * @param items  the cars of the requested page
+     * @param total  number of cars matching all filters
+     * @param facets car counts per value of make, fuel type, transmission and pickup
+     *               location, each applying every filter except its own
+     */
+    public record Result(List<CatalogueCar> items, long total, Map<String, Map<String, Long>> facets) {}
+
+    /**
+     * One car as stored in the catalogue.
+     *
+     * @param id             car ID
+     * @param make           manufacturer
+     * @param model          model
+     * @param year           manufacturing year
+     * @param color          exterior color
+     * @param fuelType       fuel type
+     * @param automatic      whether the transmission is automatic
+     * @param pricePerDay    daily price in USD
+     * @param pickupLocation pickup location
+     */
+    public record CatalogueCar(Integer id, String make, String model, int year, String color,
+                               FuelType fuelType, boolean automatic, BigDecimal pricePerDay,
+                               String pickupLocation) {
+
+        /**
+         * Takes the catalogue fields of a car entity.
+         *
+         * @param car the car
+         * @return the car as stored in the catalogue
+         */
+        public static CatalogueCar of(Car car) {
+            return new CatalogueCar(car.getId(), car.getMake(), car.getModel(), car.getYear(), car.getColor(),
+                    car.getFuelType(), car.isAutomatic(), car.getPricePerDay(), car.getPickupLocation());
+        }
+    }
+
+    /**
+     * A committed change of one car: its new state, or {@code null} if it was deleted.
+     */
+    private record CarChange(Integer carId, Car car) {
+
+        void applyTo(Columns columns) {
+            if (car == null) {
+                columns.remove(carId);
+            } else {
+                columns.put(car);
+            }
+        }
+    }
+
+    /**
+     * Values of a string column and the code of each value.
+     */
+    private static final class Dictionary {
+
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int encode(String value) {
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * The column arrays and bitmaps. Once published, mutated only under the write lock.
+     * Rows of deleted cars stay empty until the next reload.
+     */
+    private static final class Columns {
+
+        private int size;
+        private int[] ids;
+        private int[] years;
+        private long[] priceCents;
+        private int[] makeCodes;
+        private int[] modelCodes;
+        private int[] colorCodes;
+        private int[] locationCodes;
+        private byte[] fuelTypes;
+        private Dictionary makes;
+        private Dictionary models;
+        private Dictionary colors;
+        private Dictionary locations;
+        private BitSet available;
+        private BitSet automatic;
+        private List<BitSet> byMake;
+        private List<BitSet> byLocation;
+        private BitSet[] byFuelType;
+        private Map<Integer, Integer> rowOf;
+
+        Columns(int capacity) {
+            ids = new int[capacity];
+            years = new int[capacity];
+            priceCents = new long[capacity];
+            makeCodes = new int[capacity];
+            modelCodes = new int[capacity];
+            colorCodes = new int[capacity];
+            locationCodes = new int[capacity];
+            fuelTypes = new byte[capacity];
+            makes = new Dictionary();
+            models = new Dictionary();
+            colors = new Dictionary();
+            locations = new Dictionary();
+            available = new BitSet(capacity);
+            automatic = new BitSet(capacity);
+            byMake = new ArrayList<>();
+            byLocation = new ArrayList<>();
+            byFuelType = new BitSet[FuelType.values().length];
+            for (int i = 0; i < byFuelType.length; i++) {
+                byFuelType[i] = new BitSet(capacity);
+            }
+            rowOf = new HashMap<>();
+        }
+
+        void put(Car car) {
+            Integer row = rowOf.get(car.getId());
+            if (row == null) {
+                row = size++;
+                grow(size);
+                rowOf.put(car.getId(), row);
+            } else {
+                clearIndexes(row);
+            }
+            ids[row] = car.getId();
+            years[row] = car.getYear();
+            priceCents[row] = car.getPricePerDay().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            makeCodes[row] = makes.encode(car.getMake());
+            modelCodes[row] = models.encode(car.getModel());
+            colorCodes[row] = colors.encode(car.getColor());
+            locationCodes[row] = locations.encode(car.getPickupLocation());
+            fuelTypes[row] = (byte) car.getFuelType().ordinal();
+
+            bitmap(byMake, makeCodes[row]).set(row);
+            bitmap(byLocation, locationCodes[row]).set(row);
+            byFuelType[fuelTypes[row]].set(row);
+            available.set(row, car.isAvailable());
+            automatic.set(row, car.isAutomatic());
+        }
+
+        void remove(Integer carId) {
+            Integer row = rowOf.remove(carId);
+            if (row != null) {
+                clearIndexes(row);
+            }
+        }
+
+        BitSet anyOf(List<BitSet> byValue, Dictionary dictionary, Collection<String> values) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            BitSet rows = new BitSet(size);
+            for (String value : values) {
+                Integer code = dictionary.codes.get(value);
+                if (code != null) {
+                    rows.or(byValue.get(code));
+                }
+            }
+            return rows;
+        }
+
+        BitSet anyFuelType(Collection<FuelType> values) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            BitSet rows = new BitSet(size);
+            for (FuelType value : values) {
+                rows.or(byFuelType[value.ordinal()]);
+            }
+            return rows;
+        }
+
+        BitSet transmission(Boolean automaticRequired) {
+            if (automaticRequired == null) {
+                return null;
+            }
+            if (automaticRequired) {
+                return automatic;
+            }
+            BitSet manual = new BitSet(size);
+            manual.set(0, size);
+            manual.andNot(automatic);
+            return manual;
+        }
+
+        Map<String, Long> count(BitSet rows, IntFunction<String> value) {
+            Map<String, Long> counts = new TreeMap<>();
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                counts.merge(value.apply(row), 1L, Long::sum);
+            }
+            return new LinkedHashMap<>(counts);
+        }
+
+        Comparator<Integer> order(String sortProperty, boolean descending) {
+            Comparator<Integer> order = switch (sortProperty) {
+                case "year" -> Comparator.comparingInt(row -> years[row]);
+                case "make" -> Comparator.comparing(row -> makes.values.get(makeCodes[row]));
+                case "model" -> Comparator.comparing(row -> models.values.get(modelCodes[row]));
+                default -> Comparator.comparingLong(row -> priceCents[row]);
+            };
+            if (descending) {
+                order = order.reversed();
+            }
+            return order.thenComparingInt(row -> ids[row]);
+        }
+
+        CatalogueCar car(int row) {
+            return new CatalogueCar(ids[row], makes.values.get(makeCodes[row]), models.values.get(modelCodes[row]),
+                    years[row], colors.values.get(colorCodes[row]), FuelType.values()[fuelTypes[row]],
+                    automatic.get(row), BigDecimal.valueOf(priceCents[row], 2),
+                    locations.values.get(locationCodes[row]));
+        }
+
+        private void clearIndexes(int row) {
+            byMake.get(makeCodes[row]).clear(row);
+            byLocation.get(locationCodes[row]).clear(row);
+            byFuelType[fuelTypes[row]].clear(row);
+            available.clear(row);
+            automatic.clear(row);
+        }
+
+        private void grow(int capacity) {
+            if (capacity <= ids.length) {
+                return;
+            }
+            int length = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, length);
+            years = Arrays.copyOf(years, length);
+            priceCents = Arrays.copyOf(priceCents, length);
+            makeCodes = Arrays.copyOf(makeCodes, length);
+            modelCodes = Arrays.copyOf(modelCodes, length);
+            colorCodes = Arrays.copyOf(colorCodes, length);
+            locationCodes = Arrays.copyOf(locationCodes, length);
+            fuelTypes = Arrays.copyOf(fuelTypes, length);
+        }
+
+        private static BitSet bitmap(List<BitSet> byValue, int code) {
+            while (byValue.size() <= code) {
+                byValue.add(new BitSet());
+            }
+            return byValue.get(code);
+        }
+    }
+}
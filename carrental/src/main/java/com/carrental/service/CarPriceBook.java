@@ -0,0 +1,209 @@
+package com.carrental.service;
+
+import com.carrental.exception.CurrencyConversionException;
+import com.carrental.integration.CurrencyConverter;
+import com.carrental.integration.ExchangeRatesUpdatedEvent;
+import com.carrental.model.Car;
+import com.carrental.model.CarChangedEvent;
+import com.carrental.repository.CarRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Materialized daily prices of every car in each configured currency.
+ * <p>
+ * The book holds, per currency, the exchange rate it was computed with and the
+ * converted, rounded {@code pricePerDay} of every car, so priced listings in those
+ * currencies are plain map lookups with no rate resolution or arithmetic.
+ * It is built when the application is ready, recomputed per currency whenever a
+ * {@link CurrencyConverter} publishes new rates, and updated per car after a
+ * transaction stores or deletes a car.
+ * <p>
+ * The book is an immutable snapshot replaced on every change; readers never block.
+ * Currencies are configured with <code>currency.price-book.currencies</code>.
+ */
+@Component
+public class CarPriceBook {
+
+    private static final Logger log = LoggerFactory.getLogger(CarPriceBook.class);
+
+    private final CarRepository carRepository;
+    private final CurrencyConverter currencyConverter;
+    private final Set<String> currencies;
+    private final Object writeLock = new Object();
+
+    private volatile Book book = new Book(Map.of(), Map.of());
+
+    /**
+     * Constructs the price book.
+     *
+     * @param carRepository     repository used to load the car prices
+     * @param currencyConverter converter providing the initial exchange rates
+     * @param currencies        ISO codes of the currencies to precompute
+     */
+    public CarPriceBook(CarRepository carRepository,
+                        CurrencyConverter currencyConverter,
+                        @Value("${currency.price-book.currencies:EUR,GBP,JPY}") List<String> currencies) {
+        this.carRepository = carRepository;
+        this.currencyConverter = currencyConverter;
+        this.currencies = new LinkedHashSet<>();
+        for (String currency : currencies) {
+            if (!currency.isBlank() && !"USD".equalsIgnoreCase(currency.strip())) {
+                this.currencies.add(currency.strip().toUpperCase());
+            }
+        }
+    }
+
+    /**
+     * Returns the precomputed prices in the given currency.
+     *
+     * @param currency ISO currency code
+     * @return the prices, or {@code null} if the currency is not (yet) in the book
+     */
+    public CurrencyPrices pricesIn(String currency) {
+        return book.byCurrency().get(currency.toUpperCase());
+    }
+
+    /**
+     * Rebuilds the whole book from the database and the current exchange rates.
+     * Currencies whose rate cannot be resolved are left out until new rates arrive.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Integer, BigDecimal> usdPrices = new HashMap<>();
+        for (Car car : carRepository.findAll()) {
+            usdPrices.put(car.getId(), car.getPricePerDay());
+        }
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (String currency : currencies) {
+            try {
+                rates.put(currency, currencyConverter.rateFor(currency));
+            } catch (CurrencyConversionException ex) {
+                log.warn("No exchange rate for {} – leaving it out of the price book", currency);
+            }
+        }
+
+        synchronized (writeLock) {
+            Map<String, CurrencyPrices> byCurrency = new HashMap<>();
+            rates.forEach((currency, rate) ->
+                    byCurrency.put(currency, CurrencyPrices.compute(rate, usdPrices)));
+            book = new Book(Map.copyOf(usdPrices), Map.copyOf(byCurrency));
+        }
+        log.info("Price book built for {} cars in {}", usdPrices.size(), rates.keySet());
+    }
+
+    /**
+     * Recomputes the prices of every configured currency whose rate has changed.
+     *
+     * @param event the newly loaded exchange rates
+     */
+    @EventListener
+    public void onRatesUpdated(ExchangeRatesUpdatedEvent event) {
+        synchronized (writeLock) {
+            Book current = book;
+            Map<String, CurrencyPrices> byCurrency = new HashMap<>(current.byCurrency());
+            boolean changed = false;
+            for (String currency : currencies) {
+                BigDecimal rate = event.rates().get(currency);
+                CurrencyPrices existing = byCurrency.get(currency);
+                if (rate != null && (existing == null || existing.rate().compareTo(rate) != 0)) {
+                    byCurrency.put(currency, CurrencyPrices.compute(rate, current.usdPrices()));
+                    changed = true;
+                }
+            }
+            if (changed) {
+                book = new Book(current.usdPrices(), Map.copyOf(byCurrency));
+            }
+        }
+    }
+
+    /**
+     * Updates a single car's prices once the transaction that changed it has committed.
+     *
+     * @param event the stored or deleted car
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        synchronized (writeLock) {
+            Book current = book;
+            BigDecimal previous = current.usdPrices().get(event.carId());
+            BigDecimal price = event.pricePerDay();
+            if (price == null ? previous == null : previous != null && previous.compareTo(price) == 0) {
+                return;
+            }
+            Map<Integer, BigDecimal> usdPrices = new HashMap<>(current.usdPrices());
+            Map<String, CurrencyPrices> byCurrency = new HashMap<>();
+            if (price == null) {
+                usdPrices.remove(event.carId());
+            } else {
+                usdPrices.put(event.carId(), price);
+            }
+            current.byCurrency().forEach((currency, prices) ->
+                    byCurrency.put(currency, prices.withCar(event.carId(), price)));
+            book = new Book(Map.copyOf(usdPrices), Map.copyOf(byCurrency));
+        }
+    }
+
+    /**
+     * Converted daily prices for one currency.
+     *
+     * @param rate  USD→currency rate the prices were computed with
+     * @param byCar converted daily price per car ID, rounded to two decimals
+     */
+    public record CurrencyPrices(BigDecimal rate, Map<Integer, BigDecimal> byCar) {
+
+        /**
+         * Returns the converted daily price of a car, computing it from the
+         * book's rate if the car is not in the book yet.
+         *
+         * @param carId    the ID of the car
+         * @param usdPrice the car's daily price in USD
+         * @return the daily price in this currency
+         */
+        public BigDecimal priceOf(Integer carId, BigDecimal usdPrice) {
+            BigDecimal price = byCar.get(carId);
+            return price != null ? price : convert(usdPrice, rate);
+        }
+
+        private static CurrencyPrices compute(BigDecimal rate, Map<Integer, BigDecimal> usdPrices) {
+            Map<Integer, BigDecimal> byCar = new HashMap<>();
+            usdPrices.forEach((carId, usd) -> byCar.put(carId, convert(usd, rate)));
+            return new CurrencyPrices(rate, Map.copyOf(byCar));
+        }
+
+        private CurrencyPrices withCar(Integer carId, BigDecimal usdPrice) {
+            Map<Integer, BigDecimal> updated = new HashMap<>(byCar);
+            if (usdPrice == null) {
+                updated.remove(carId);
+            } else {
+                updated.put(carId, convert(usdPrice, rate));
+            }
+            return new CurrencyPrices(rate, Map.copyOf(updated));
+        }
+
+        private static BigDecimal convert(BigDecimal usd, BigDecimal rate) {
+            return usd.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+
+    /**
+     * Immutable snapshot of the price book.
+     *
+     * @param usdPrices  daily USD price per car ID
+     * @param byCurrency converted prices per currency
+     */
+    private record Book(Map<Integer, BigDecimal> usdPrices, Map<String, CurrencyPrices> byCurrency) {}
+}
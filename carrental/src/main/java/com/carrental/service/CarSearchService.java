@@ -0,0 +1,276 @@
+package com.carrental.service;
+
+import com.carrental.dto.AvailableCarDto;
+import com.carrental.dto.CarSearchRequestDto;
+import com.carrental.dto.CarSearchResultDto;
+import com.carrental.exception.CurrencyConversionException;
+import com.carrental.exception.InvalidBookingRequestException;
+import com.carrental.integration.CurrencyConverter;
+import com.carrental.model.Car;
+import com.carrental.model.FuelType;
+import com.carrental.repository.CarRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import static com.carrental.repository.CarSpecifications.*;
+
+/**
+ * Service for searching the fleet with filters, sorting, pagination and facet counts.
+ * <p>
+ * Only cars marked available are searched; with {@code from} and {@code to} the search is
+ * further limited to cars without an overlapping booking. Searches are answered from the
+ * {@link CarCatalogue} as bitmap intersections once it is loaded (and, for searches with
+ * dates, once the {@link AvailabilityIndex} is loaded too); until then all filtering, sorting
+ * and paging happens in the database. Either way a client receives one page instead of the
+ * whole fleet.
+ * <p>
+ * Price bounds are given in the requested currency and converted to USD with the same rate
+ * the listed prices are converted with. The facets of <code>make</code>, <code>fuelType</code>,
+ * <code>automatic</code> and <code>pickupLocation</code> apply every filter except the
+ * facet's own; the database path counts them with one {@code GROUP BY} query each. Page sizes default to
+ * <code>car.search.default-size</code> and are capped at <code>car.search.max-size</code>.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CarSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(CarSearchService.class);
+
+    private static final Map<String, String> SORT_PROPERTIES = Map.of(
+            "price", "pricePerDay",
+            "year", "year",
+            "make", "make",
+            "model", "model");
+
+    private final CarRepository carRepository;
+    private final CurrencyConverter currencyConverterClient;
+    private final CarPriceBook priceBook;
+    private final CarCatalogue catalogue;
+    private final AvailabilityIndex availabilityIndex;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    /**
+     * Constructs a CarSearchService with the required dependencies.
+     *
+     * @param carRepository           repository for car entities
+     * @param currencyConverterClient client for converting currency values
+     * @param priceBook               precomputed car prices per currency
+     * @param catalogue               in-memory snapshot of the cars
+     * @param availabilityIndex       in-memory index of booked periods
+     * @param defaultPageSize         page size of searches when none is requested
+     * @param maxPageSize             largest page size a search may request
+     */
+    public CarSearchService(CarRepository carRepository,
+                            CurrencyConverter currencyConverterClient,
+                            CarPriceBook priceBook,
+                            CarCatalogue catalogue,
+                            AvailabilityIndex availabilityIndex,
+                            @Value("${car.search.default-size:20}") int defaultPageSize,
+                            @Value("${car.search.max-size:100}") int maxPageSize) {
+        this.carRepository = carRepository;
+        this.currencyConverterClient = currencyConverterClient;
+        this.priceBook = priceBook;
+        this.catalogue = catalogue;
+        this.availabilityIndex = availabilityIndex;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Searches the available cars.
+     *
+     * @param req the search parameters
+     * @return the requested page of matching cars together with the facet counts
+     * @throws InvalidBookingRequestException if a parameter is invalid
+     */
+    public CarSearchResultDto search(CarSearchRequestDto req) {
+        if ((req.from() == null) != (req.to() == null)) {
+            throw new InvalidBookingRequestException("from and to must be given together");
+        }
+        if (req.from() != null && req.from().isAfter(req.to())) {
+            throw new InvalidBookingRequestException("from must be on or before to");
+        }
+        int page = req.page() == null ? 0 : req.page();
+        if (page < 0) {
+            throw new InvalidBookingRequestException("page must not be negative");
+        }
+        int size = pageSize(req.size());
+        Sort.Order order = sortOrder(req.sort());
+        List<FuelType> fuelTypes = fuelTypes(req.fuelType());
+        Pricing pricing = pricing(req.currency());
+
+        if (catalogue.isLoaded() && (req.from() == null || availabilityIndex.isLoaded())) {
+            return searchCatalogue(req, page, size, order, fuelTypes, pricing);
+        }
+
+        Specification<Car> common = Specification.where(isAvailable())
+                .and(freeBetween(req.from(), req.to()))
+                .and(yearBetween(req.minYear(), req.maxYear()))
+                .and(pricePerDayBetween(pricing.minUsd(req.minPrice()), pricing.maxUsd(req.maxPrice())));
+        Specification<Car> make = makeIn(req.make());
+        Specification<Car> fuelType = fuelTypeIn(fuelTypes);
+        Specification<Car> automatic = automatic(req.automatic());
+        Specification<Car> location = pickupLocationIn(req.pickupLocation());
+
+        Page<Car> cars = carRepository.findAll(
+                common.and(make).and(fuelType).and(automatic).and(location),
+                PageRequest.of(page, size, Sort.by(order).and(Sort.by("id"))));
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("make", carRepository.countBy("make", common.and(fuelType).and(automatic).and(location)));
+        facets.put("fuelType", carRepository.countBy("fuelType", common.and(make).and(automatic).and(location)));
+        facets.put("automatic", carRepository.countBy("automatic", common.and(make).and(fuelType).and(location)));
+        facets.put("pickupLocation", carRepository.countBy("pickupLocation", common.and(make).and(fuelType).and(automatic)));
+
+        List<AvailableCarDto> items = new ArrayList<>(cars.getNumberOfElements());
+        for (Car car : cars) {
+            items.add(CarService.toAvailableDto(car, pricing.priceOf(car), pricing.currency()));
+        }
+        return new CarSearchResultDto(items, cars.getTotalElements(), page, size, facets);
+    }
+
+    private CarSearchResultDto searchCatalogue(CarSearchRequestDto req, int page, int size, Sort.Order order,
+                                               List<FuelType> fuelTypes, Pricing pricing) {
+        IntPredicate free = req.from() == null ? null
+                : carId -> availabilityIndex.isFree(carId, req.from(), req.to());
+        CarCatalogue.Result result = catalogue.search(new CarCatalogue.Query(
+                req.make(), fuelTypes, req.automatic(), req.pickupLocation(), req.minYear(), req.maxYear(),
+                pricing.minUsd(req.minPrice()), pricing.maxUsd(req.maxPrice()), free,
+                order.getProperty(), order.isDescending(), page, size));
+
+        List<AvailableCarDto> items = new ArrayList<>(result.items().size());
+        for (CarCatalogue.CatalogueCar car : result.items()) {
+            items.add(CarService.toAvailableDto(car, pricing.priceOf(car.id(), car.pricePerDay()), pricing.currency()));
+        }
+        return new CarSearchResultDto(items, result.total(), page, size, result.facets());
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (size < 1) {
+            throw new InvalidBookingRequestException("size must be positive");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    /**
+     * Parses a sort parameter such as {@code price} or {@code year,desc}. Both search paths
+     * break ties by ID so that pages do not overlap.
+     */
+    private static Sort.Order sortOrder(String sort) {
+        String key = "price";
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (sort != null && !sort.isBlank()) {
+            String[] parts = sort.split(",", 2);
+            key = parts[0].trim().toLowerCase();
+            if (parts.length > 1) {
+                direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new InvalidBookingRequestException("sort direction must be asc or desc"));
+            }
+        }
+        String property = SORT_PROPERTIES.get(key);
+        if (property == null) {
+            throw new InvalidBookingRequestException("sort must be one of price, year, make, model");
+        }
+        return new Sort.Order(direction, property);
+    }
+
+    private static List<FuelType> fuelTypes(List<String> names) {
+        if (names == null) {
+            return null;
+        }
+        List<FuelType> fuelTypes = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                fuelTypes.add(FuelType.valueOf(name.trim().toUpperCase()));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidBookingRequestException("Unknown fuelType: " + name);
+            }
+        }
+        return fuelTypes;
+    }
+
+    /**
+     * Resolves how prices are converted to the requested currency: from the
+     * {@link CarPriceBook} if it holds the currency, with one rate lookup otherwise.
+     * If the currency service is unavailable, prices are listed in USD instead.
+     */
+    private Pricing pricing(String requested) {
+        String currency = requested == null || requested.isBlank() ? "USD" : requested.toUpperCase();
+        if (currency.equals("USD")) {
+            return new Pricing(currency, BigDecimal.ONE, null);
+        }
+        CarPriceBook.CurrencyPrices prices = priceBook.pricesIn(currency);
+        if (prices != null) {
+            return new Pricing(currency, prices.rate(), prices);
+        }
+        try {
+            return new Pricing(currency, currencyConverterClient.await(currencyConverterClient.rateForAsync(currency)), null);
+        } catch (CurrencyConversionException ex) {
+            log.warn("Currency conversion failed – searching with USD prices", ex);
+            return new Pricing("USD", BigDecimal.ONE, null);
+        }
+    }
+
+    /**
+     * Conversion of daily prices between USD and the currency of a search.
+     * <p>
+     * Converted prices are rounded half-up to cents, so price bounds are turned into the
+     * USD prices, in cents, whose rounded conversion lies within them. A car listed at
+     * exactly a bound is then found whatever digits the rate has.
+     *
+     * @param currency ISO code of the currency prices are listed in
+     * @param rate     USD→currency rate
+     * @param prices   precomputed prices in the currency, or {@code null} to convert with {@code rate}
+     */
+    private record Pricing(String currency, BigDecimal rate, CarPriceBook.CurrencyPrices prices) {
+
+        private static final BigDecimal CENT = new BigDecimal("0.01");
+        private static final BigDecimal HALF_CENT = new BigDecimal("0.005");
+
+        BigDecimal priceOf(Car car) {
+            return priceOf(car.getId(), car.getPricePerDay());
+        }
+
+        BigDecimal priceOf(Integer carId, BigDecimal usdPrice) {
+            return prices != null ? prices.priceOf(carId, usdPrice) : usdPrice.multiply(rate);
+        }
+
+        /** Returns the lowest USD price whose converted price is at least {@code minPrice}. */
+        BigDecimal minUsd(BigDecimal minPrice) {
+            if (minPrice == null) {
+                return null;
+            }
+            BigDecimal lowest = minPrice.setScale(2, RoundingMode.CEILING).subtract(HALF_CENT);
+            return lowest.divide(rate, 2, RoundingMode.CEILING);
+        }
+
+        /** Returns the highest USD price whose converted price is at most {@code maxPrice}. */
+        BigDecimal maxUsd(BigDecimal maxPrice) {
+            if (maxPrice == null) {
+                return null;
+            }
+            // converted prices below this limit round to maxPrice or less
+            BigDecimal limit = maxPrice.setScale(2, RoundingMode.FLOOR).add(HALF_CENT);
+            return limit.divide(rate, 2, RoundingMode.CEILING).subtract(CENT);
+        }
+    }
+}
@@ -1,20 +1,28 @@
 package com.carrental.service;
 
 import com.carrental.dto.AvailableCarDto;
+import com.carrental.dto.CarCalendarDto;
 import com.carrental.dto.CarDto;
 import com.carrental.exception.CarNotAvailableException;
+import com.carrental.exception.CurrencyConversionException;
 import com.carrental.exception.EntityNotFoundException;
 import com.carrental.exception.InvalidBookingRequestException;
-import com.carrental.integration.CurrencyConverterClient;
+import com.carrental.integration.CurrencyConverter;
 import com.carrental.mapper.CarMapper;
 import com.carrental.model.Car;
 import com.carrental.repository.CarRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service for managing car operations.
@@ -25,9 +33,17 @@ import java.util.List;
 @Service
 public class CarService {
 
+    private static final Logger log = LoggerFactory.getLogger(CarService.class);
+
+    /** Longest range a single calendar request may cover. */
+    private static final int MAX_CALENDAR_DAYS = 366;
+
     private final CarRepository carRepository;
     private final CarMapper carMapper;
-    private final CurrencyConverterClient currencyConverterClient;
+    private final CurrencyConverter currencyConverterClient;
+    private final CarPriceBook priceBook;
+    private final AvailabilityIndex availabilityIndex;
+    private final CarCatalogue catalogue;
 
     /**
      * Constructs a new CarService with the specified dependencies.
@@ -35,18 +51,35 @@ public class CarService {
      * @param carRepository           repository for accessing car entities
      * @param carMapper               mapper for converting between entities and DTOs
      * @param currencyConverterClient client for converting currency values
+     * @param priceBook               precomputed car prices per currency
+     * @param availabilityIndex       in-memory index of booked periods
+     * @param catalogue               in-memory snapshot of the cars
      */
     public CarService(CarRepository carRepository,
                       CarMapper carMapper,
-                      CurrencyConverterClient currencyConverterClient) {
+                      CurrencyConverter currencyConverterClient,
+                      CarPriceBook priceBook,
+                      AvailabilityIndex availabilityIndex,
+                      CarCatalogue catalogue) {
         this.carRepository = carRepository;
         this.carMapper = carMapper;
         this.currencyConverterClient = currencyConverterClient;
+        this.priceBook = priceBook;
+        this.availabilityIndex = availabilityIndex;
+        this.catalogue = catalogue;
     }
 
     /**
      * Retrieves cars available for booking within the specified date range,
      * converting the daily price to the requested currency.
+     * <p>
+     * Currencies kept in the {@link CarPriceBook} are read from it directly. For any
+     * other currency the exchange rate is resolved once, concurrently with the database
+     * query, so the listing costs at most one rate lookup regardless of the number of cars.
+     * If the currency service is unavailable, prices are listed in USD instead.
+     * <p>
+     * Once the {@link AvailabilityIndex} and the {@link CarCatalogue} are loaded, the
+     * listing is answered from memory without a database query.
      *
      * @param from     start date of the desired rental period (inclusive)
      * @param to       end date of the desired rental period (inclusive)
@@ -59,13 +92,81 @@ public class CarService {
             throw new InvalidBookingRequestException("from must be on or before to");
         }
 
+        CarPriceBook.CurrencyPrices prices = priceBook.pricesIn(currency);
+        if (prices != null) {
+            List<CarCatalogue.CatalogueCar> cars = findAvailableBetween(from, to);
+            List<AvailableCarDto> result = new ArrayList<>(cars.size());
+            for (CarCatalogue.CatalogueCar car : cars) {
+                result.add(toAvailableDto(car, prices.priceOf(car.id(), car.pricePerDay()), currency));
+            }
+            return result;
+        }
+
+        CompletableFuture<BigDecimal> pendingRate = currencyConverterClient.rateForAsync(currency);
+        List<CarCatalogue.CatalogueCar> cars = findAvailableBetween(from, to);
+
+        String priceCurrency = currency;
+        BigDecimal rate;
+        try {
+            rate = currencyConverterClient.await(pendingRate);
+        } catch (CurrencyConversionException ex) {
+            log.warn("Currency conversion failed – listing prices in USD", ex);
+            rate = BigDecimal.ONE;
+            priceCurrency = "USD";
+        }
+
+        List<AvailableCarDto> result = new ArrayList<>(cars.size());
+        for (CarCatalogue.CatalogueCar car : cars) {
+            result.add(toAvailableDto(car, car.pricePerDay().multiply(rate), priceCurrency));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the days on which a car is booked within the given range, for
+     * rendering an availability calendar.
+     *
+     * @param id   the ID of the car
+     * @param from first day of the range (inclusive)
+     * @param to   last day of the range (inclusive)
+     * @return the {@link CarCalendarDto} for the range
+     * @throws InvalidBookingRequestException if {@code from} is after {@code to} or the range is too long
+     * @throws EntityNotFoundException        if no car exists with the given ID
+     */
+    public CarCalendarDto getCalendar(Long id, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidBookingRequestException("from must be on or before to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new InvalidBookingRequestException(
+                    "calendar range must not exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+        if (!carRepository.existsById(id)) {
+            throw new EntityNotFoundException("Car", id);
+        }
+        Integer carId = id.intValue();
+        return new CarCalendarDto(carId, from, to, availabilityIndex.bookedDays(carId, from, to));
+    }
+
+    /**
+     * Finds the cars that are marked available and free in the given period, from the
+     * car catalogue and the availability index when both are loaded and with a single
+     * database query otherwise.
+     *
+     * @param from start date of the period (inclusive)
+     * @param to   end date of the period (inclusive)
+     * @return the free cars
+     */
+    private List<CarCatalogue.CatalogueCar> findAvailableBetween(LocalDate from, LocalDate to) {
+        if (catalogue.isLoaded() && availabilityIndex.isLoaded()) {
+            return catalogue.available(carId -> availabilityIndex.isFree(carId, from, to));
+        }
         List<Car> cars = carRepository.findAvailableBetween(from, to);
-        return cars.stream()
-                .map(car -> {
-                    BigDecimal convertedPrice = currencyConverterClient.convert(car.getPricePerDay(), currency);
-                    return toAvailableDto(car, convertedPrice, currency);
-                })
-                .toList();
+        List<CarCatalogue.CatalogueCar> free = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            free.add(CarCatalogue.CatalogueCar.of(car));
+        }
+        return free;
     }
 
     /**
@@ -87,6 +188,7 @@ public class CarService {
      * @throws EntityNotFoundException    if no car exists with the given ID
      * @throws CarNotAvailableException   if the car is already rented
      */
+    @Transactional
     public CarDto bookCar(Long id) {
         Car car = carRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Car", id));
@@ -109,6 +211,7 @@ public class CarService {
      * @throws EntityNotFoundException    if no car exists with the given ID
      * @throws CarNotAvailableException   if the car is already available
      */
+    @Transactional
     public CarDto returnCar(Long id) {
         Car car = carRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Car", id));
@@ -154,7 +257,7 @@ public class CarService {
      * @param currency        ISO currency code for the converted price
      * @return the constructed AvailableCarDto
      */
-    private AvailableCarDto toAvailableDto(Car car, BigDecimal convertedPrice, String currency) {
+    static AvailableCarDto toAvailableDto(Car car, BigDecimal convertedPrice, String currency) {
         return new AvailableCarDto(
                 car.getId(),
                 car.getMake(),
@@ -169,4 +272,28 @@ public class CarService {
                 car.getPickupLocation()
         );
     }
+
+    /**
+     * Helper method to convert a car of the {@link CarCatalogue} into an {@link AvailableCarDto}.
+     *
+     * @param car             the catalogue car
+     * @param convertedPrice  the daily price converted to the requested currency
+     * @param currency        ISO currency code for the converted price
+     * @return the constructed AvailableCarDto
+     */
+    static AvailableCarDto toAvailableDto(CarCatalogue.CatalogueCar car, BigDecimal convertedPrice, String currency) {
+        return new AvailableCarDto(
+                car.id(),
+                car.make(),
+                car.model(),
+                car.pricePerDay(),
+                convertedPrice.setScale(2, RoundingMode.HALF_UP),
+                currency.toUpperCase(),
+                car.year(),
+                car.color(),
+                car.fuelType().toString(),
+                car.automatic(),
+                car.pickupLocation()
+        );
+    }
 }
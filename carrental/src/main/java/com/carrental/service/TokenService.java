@@ -0,0 +1,219 @@
+package com.carrental.service;
+
+import com.carrental.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Issues and verifies signed access tokens.
+ * <p>
+ * Tokens are compact JWTs signed with HMAC-SHA256 (HS256). They carry the user's ID,
+ * username and role, so a request presenting one is authenticated without checking a
+ * password. Tokens expire after <code>auth.token.ttl</code>. Verification only checks the
+ * signature and expiry; the bearer filter reloads the user by ID afterwards, so a deleted
+ * user or a changed role takes effect on the next request.
+ * <p>
+ * Signing keys are configured as <code>auth.token.keys</code>, a comma-separated list of
+ * <code>kid:base64-secret</code> entries of at least 256 bits each, and
+ * <code>auth.token.active-key</code> names the one used for new tokens. Every token records
+ * its key ID in the {@code kid} header and is verified with that key as long as it is
+ * configured. A key is rotated in three steps:
+ * <ol>
+ *   <li>Add the new key to <code>auth.token.keys</code> on every instance</li>
+ *   <li>Make it the <code>auth.token.active-key</code></li>
+ *   <li>Remove the old key once the tokens it signed have expired (one TTL later)</li>
+ * </ol>
+ * Without configured keys a random key is generated at startup; tokens then stop being
+ * valid on restart and are not accepted by other instances.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+    private static final String GENERATED_KEY_ID = "generated";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, SecretKeySpec> keys;
+    private final String activeKeyId;
+    private final Duration ttl;
+    private final Clock clock;
+
+    /**
+     * Constructs the token service.
+     *
+     * @param objectMapper mapper for the token header and claims
+     * @param keys         signing keys as comma-separated <code>kid:base64-secret</code> entries
+     * @param activeKeyId  ID of the key used to sign new tokens
+     * @param ttl          lifetime of issued tokens
+     */
+    @Autowired
+    public TokenService(ObjectMapper objectMapper,
+                        @Value("${auth.token.keys:}") String keys,
+                        @Value("${auth.token.active-key:}") String activeKeyId,
+                        @Value("${auth.token.ttl:PT1H}") Duration ttl) {
+        this(objectMapper, keys, activeKeyId, ttl, Clock.systemUTC());
+    }
+
+    TokenService(ObjectMapper objectMapper, String keys, String activeKeyId, Duration ttl, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.clock = clock;
+        Map<String, SecretKeySpec> parsed = parseKeys(keys);
+        if (parsed.isEmpty()) {
+            byte[] secret = new byte[MIN_KEY_BYTES];
+            new SecureRandom().nextBytes(secret);
+            parsed.put(GENERATED_KEY_ID, new SecretKeySpec(secret, ALGORITHM));
+            activeKeyId = GENERATED_KEY_ID;
+            log.warn("No auth.token.keys configured – signing tokens with a random key; "
+                    + "they become invalid on restart and are not shared between instances");
+        } else if (!parsed.containsKey(activeKeyId)) {
+            throw new IllegalStateException("auth.token.active-key must name one of auth.token.keys");
+        }
+        this.keys = Map.copyOf(parsed);
+        this.activeKeyId = activeKeyId;
+    }
+
+    /**
+     * Issues a token for an authenticated user.
+     *
+     * @param user the user the token is issued to
+     * @return the signed token
+     */
+    public String issue(User user) {
+        Instant now = clock.instant();
+        ObjectNode header = objectMapper.createObjectNode()
+                .put("alg", "HS256")
+                .put("typ", "JWT")
+                .put("kid", activeKeyId);
+        ObjectNode payload = objectMapper.createObjectNode()
+                .put("sub", user.getUsername())
+                .put("uid", user.getId())
+                .put("role", user.getUserRole().name())
+                .put("iat", now.getEpochSecond())
+                .put("exp", now.plus(ttl).getEpochSecond());
+        String signingInput = encode(header) + "." + encode(payload);
+        return signingInput + "." + ENCODER.encodeToString(sign(activeKeyId, signingInput));
+    }
+
+    /**
+     * Verifies a token's signature and expiry.
+     *
+     * @param token the token presented by a client
+     * @return the token's claims, or empty if the token is malformed, signed with an unknown
+     *         key, tampered with or expired
+     */
+    public Optional<TokenClaims> verify(String token) {
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        if (first < 0 || second < 0 || token.indexOf('.', second + 1) >= 0) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode header = objectMapper.readTree(DECODER.decode(token.substring(0, first)));
+            String keyId = header.path("kid").asText();
+            if (!"HS256".equals(header.path("alg").asText()) || !keys.containsKey(keyId)) {
+                return Optional.empty();
+            }
+            byte[] expected = sign(keyId, token.substring(0, second));
+            byte[] actual = DECODER.decode(token.substring(second + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return Optional.empty();
+            }
+            JsonNode payload = objectMapper.readTree(DECODER.decode(token.substring(first + 1, second)));
+            Instant expiresAt = Instant.ofEpochSecond(payload.path("exp").asLong());
+            if (!clock.instant().isBefore(expiresAt)) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenClaims(
+                    payload.path("uid").asInt(),
+                    payload.path("sub").asText(),
+                    payload.path("role").asText(),
+                    expiresAt));
+        } catch (IllegalArgumentException | IOException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the lifetime of issued tokens.
+     *
+     * @return the token TTL
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private String encode(ObjectNode json) {
+        try {
+            return ENCODER.encodeToString(objectMapper.writeValueAsBytes(json));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not serialize token", ex);
+        }
+    }
+
+    private byte[] sign(String keyId, String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(keys.get(keyId));
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+
+    private static Map<String, SecretKeySpec> parseKeys(String keys) {
+        Map<String, SecretKeySpec> parsed = new LinkedHashMap<>();
+        if (keys == null || keys.isBlank()) {
+            return parsed;
+        }
+        for (String entry : keys.split(",")) {
+            int colon = entry.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalStateException("auth.token.keys entries must have the form kid:base64-secret");
+            }
+            String keyId = entry.substring(0, colon).trim();
+            byte[] secret = Base64.getDecoder().decode(entry.substring(colon + 1).trim());
+            if (secret.length < MIN_KEY_BYTES) {
+                throw new IllegalStateException("Token key " + keyId + " must be at least 256 bits long");
+            }
+            parsed.put(keyId, new SecretKeySpec(secret, ALGORITHM));
+        }
+        return parsed;
+    }
+
+    /**
+     * Claims of a verified token.
+     *
+     * @param userId    ID of the user the token was issued to
+     * @param username  username of that user
+     * @param role      the user's role at the time the token was issued
+     * @param expiresAt the instant the token expires
+     */
+    public record TokenClaims(Integer userId, String username, String role, Instant expiresAt) {}
+}
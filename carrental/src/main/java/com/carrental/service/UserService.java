@@ -1,17 +1,20 @@
 package com.carrental.service;
 
 import com.carrental.dto.CreateUserRequestDto;
+import com.carrental.dto.LoginResponseDto;
 import com.carrental.dto.UpdateUserRequestDto;
 import com.carrental.dto.UserDto;
 import com.carrental.exception.EntityNotFoundException;
 import com.carrental.exception.UsernameAlreadyExistsException;
 import com.carrental.mapper.UserMapper;
 import com.carrental.model.User;
+import com.carrental.model.UserChangedEvent;
 import com.carrental.model.UserRole;
 import com.carrental.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 /**
@@ -26,6 +29,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder pwEncoder;
+    private final TokenService tokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new UserService with the specified dependencies.
@@ -33,13 +38,19 @@ public class UserService {
      * @param userRepository repository for User entities
      * @param userMapper     mapper for converting between User entities and DTOs
      * @param pwEncoder      encoder for hashing user passwords
+     * @param tokenService   service issuing access tokens on login
+     * @param eventPublisher publisher for {@link UserChangedEvent}s
      */
     public UserService(UserRepository userRepository,
                        UserMapper userMapper,
-                       PasswordEncoder pwEncoder) {
+                       PasswordEncoder pwEncoder,
+                       TokenService tokenService,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.pwEncoder = pwEncoder;
+        this.tokenService = tokenService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -47,6 +58,7 @@ public class UserService {
      *
      * @return list of all {@link UserDto}
      */
+    @Transactional(readOnly = true)
     public List<UserDto> getAllUserDtos() {
         return userMapper.toDtoList(userRepository.findAll());
     }
@@ -58,6 +70,7 @@ public class UserService {
      * @return the corresponding {@link UserDto}
      * @throws EntityNotFoundException if no user exists with the given ID
      */
+    @Transactional(readOnly = true)
     public UserDto getUserDto(Integer id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User", id));
@@ -88,6 +101,9 @@ public class UserService {
 
     /**
      * Updates an existing user account.
+     * <p>
+     * Publishes a {@link UserChangedEvent} with the previous username, so that cached
+     * authentications of the user are discarded once the change is committed.
      *
      * @param id  the ID of the user to update
      * @param req the {@link UpdateUserRequestDto} containing updated user details
@@ -97,6 +113,7 @@ public class UserService {
     public UserDto updateUser(Integer id, UpdateUserRequestDto req) {
         User existing = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User", id));
+        String previousUsername = existing.getUsername();
 
         existing.setFirstName(req.firstName());
         existing.setLastName(req.lastName());
@@ -107,31 +124,40 @@ public class UserService {
         existing.setUserRole(UserRole.valueOf(req.userRole()));
 
         User updated = userRepository.save(existing);
+        eventPublisher.publishEvent(new UserChangedEvent(id, previousUsername));
         return userMapper.toDto(updated);
     }
 
     /**
      * Deletes a user account by its ID.
+     * <p>
+     * Publishes a {@link UserChangedEvent}, so that cached authentications of the
+     * user are discarded once the deletion is committed.
      *
      * @param id the ID of the user to delete
      * @throws EntityNotFoundException if no user exists with the given ID
      */
     public void deleteUser(Integer id) {
-        if (!userRepository.existsById(id)) {
-            throw new EntityNotFoundException("User", id);
-        }
-        userRepository.deleteById(id);
+        User existing = userRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("User", id));
+        userRepository.delete(existing);
+        eventPublisher.publishEvent(new UserChangedEvent(id, existing.getUsername()));
     }
 
     /**
-     * Authenticates a user by username and password.
+     * Authenticates a user by username and password and issues an access token.
+     * <p>
+     * The password is checked only here; later requests present the token instead.
+     * <p>
+     * Deliberately not read-only: it runs on the primary, so a user can log in
+     * right after registering even while a replica is lagging behind.
      *
      * @param username the username to authenticate
      * @param password the raw password to verify
-     * @return the authenticated user's ID
+     * @return the authenticated user's ID and access token
      * @throws IllegalArgumentException if the user is not found or the password is invalid
      */
-    public Integer login(String username, String password) {
+    public LoginResponseDto login(String username, String password) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
@@ -139,6 +165,6 @@ public class UserService {
             throw new IllegalArgumentException("Invalid credentials");
         }
 
-        return user.getId();
+        return new LoginResponseDto(user.getId(), tokenService.issue(user), tokenService.getTtl().toSeconds());
     }
 }
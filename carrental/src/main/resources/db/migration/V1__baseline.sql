@@ -1,6 +1,5 @@
-DROP TABLE IF EXISTS bookings CASCADE;
-DROP TABLE IF EXISTS users CASCADE;
-DROP TABLE IF EXISTS cars CASCADE;
+-- Schema exactly as created by the former schema.sql (without its DROP statements); existing
+-- databases are baselined at this version. Everything added since then lives in later migrations.
 
 CREATE TABLE IF NOT EXISTS users (
                        id SERIAL PRIMARY KEY,
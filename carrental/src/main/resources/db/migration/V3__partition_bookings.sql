@@ -0,0 +1,159 @@
+-- Range-partitions bookings by month of start_date and adds an archive for completed rentals.
+--
+-- Overlap queries bound start_date from above, which prunes the partitions of later months. A
+-- booking may start in any earlier month, so those partitions are still probed, each through its
+-- no-overlap GiST index; the archive job keeps the number of past partitions small.
+
+ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+
+-- The primary key of a partitioned table has to include the partition key; IDs stay unique
+-- because they are all drawn from bookings_id_seq
+CREATE TABLE bookings (
+                          id INTEGER NOT NULL DEFAULT nextval('bookings_id_seq'),
+                          booked_by INTEGER NOT NULL,
+                          car_rented INTEGER NOT NULL,
+                          start_date DATE NOT NULL,
+                          end_date DATE NOT NULL,
+                          total_cost NUMERIC(10, 2) NOT NULL,
+                          currency VARCHAR(10) NOT NULL
+) PARTITION BY RANGE (start_date);
+
+ALTER SEQUENCE bookings_id_seq OWNED BY bookings.id;
+
+-- Bookings of months without a partition of their own
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+ALTER TABLE bookings_default ADD CONSTRAINT bookings_default_no_overlap EXCLUDE USING gist (
+    car_rented WITH =,
+    daterange(start_date, end_date, '[]') WITH &&
+);
+
+-- Creates the partition for the month of the given day unless it exists, moving that month's rows
+-- out of bookings_default. Exclusion constraints cannot span partitions, so each partition gets
+-- its own no-overlap constraint, added once the rows are in; bookings overlapping across
+-- partitions are rejected by the bookings_no_overlap trigger below.
+CREATE FUNCTION create_bookings_partition(day DATE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS $$
+DECLARE
+    month_start DATE := date_trunc('month', day)::date;
+    month_end   DATE := (date_trunc('month', day) + INTERVAL '1 month')::date;
+    partition   TEXT := 'bookings_' || to_char(day, 'YYYY_MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_partitions'));
+    IF to_regclass(partition) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE bookings INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition);
+    EXECUTE format('WITH moved AS (DELETE FROM bookings_default WHERE start_date >= %L AND start_date < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved',
+                   month_start, month_end, partition);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist ('
+                       'car_rented WITH =, daterange(start_date, end_date, ''[]'') WITH &&)',
+                   partition, partition || '_no_overlap');
+    EXECUTE format('ALTER TABLE bookings ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition, month_start, month_end);
+    RETURN TRUE;
+END
+$$;
+
+-- Drops the monthly partitions that end on or before the given day and hold no booking any more
+CREATE FUNCTION drop_empty_bookings_partitions(before DATE) RETURNS INTEGER
+    LANGUAGE plpgsql AS $$
+DECLARE
+    partition TEXT;
+    is_empty  BOOLEAN;
+    dropped   INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_partitions'));
+    FOR partition IN
+        SELECT c.relname
+          FROM pg_inherits i
+          JOIN pg_class c ON c.oid = i.inhrelid
+         WHERE i.inhparent = 'bookings'::regclass
+           AND c.relname ~ '^bookings_[0-9]{4}_[0-9]{2}$'
+           AND to_date(substring(c.relname FROM 10), 'YYYY_MM') + INTERVAL '1 month' <= before
+    LOOP
+        EXECUTE format('SELECT NOT EXISTS (SELECT 1 FROM %I)', partition) INTO is_empty;
+        IF is_empty THEN
+            EXECUTE format('DROP TABLE %I', partition);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END
+$$;
+
+-- Partitions from the earliest existing booking up to a year ahead; the application keeps
+-- creating the months ahead (booking.partitions.months-ahead)
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR month IN
+        SELECT generate_series(
+                       date_trunc('month', LEAST(current_date, (SELECT min(start_date) FROM bookings_unpartitioned))),
+                       date_trunc('month', current_date) + INTERVAL '12 months',
+                       INTERVAL '1 month')::date
+    LOOP
+        PERFORM create_bookings_partition(month);
+    END LOOP;
+END
+$$;
+
+INSERT INTO bookings (id, booked_by, car_rented, start_date, end_date, total_cost, currency)
+SELECT id, booked_by, car_rented, start_date, end_date, total_cost, currency
+  FROM bookings_unpartitioned;
+
+DROP TABLE bookings_unpartitioned;
+
+-- Defined on the parent, created on every partition
+ALTER TABLE bookings ADD CONSTRAINT bookings_pkey PRIMARY KEY (id, start_date);
+ALTER TABLE bookings ADD CONSTRAINT fk_booked_by FOREIGN KEY (booked_by) REFERENCES users(id);
+ALTER TABLE bookings ADD CONSTRAINT fk_car_rented FOREIGN KEY (car_rented) REFERENCES cars(id);
+CREATE INDEX bookings_booked_by_id_idx ON bookings (booked_by, id);
+CREATE INDEX bookings_car_period_idx ON bookings (car_rented, start_date, end_date);
+
+-- A car cannot be booked twice for the same day, also when the bookings start in different months.
+-- Takes the per-car advisory lock of BookingRepository.lockCarBookings, so concurrent writers of
+-- the same car wait for each other even when the application only locks in its own JVM
+-- (booking.lock.mode=local), and then sees their committed rows (READ COMMITTED). Reports the
+-- same SQLSTATE as an exclusion constraint.
+CREATE FUNCTION bookings_check_overlap() RETURNS TRIGGER
+    LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock(CAST(CAST(CAST('bookings' AS regclass) AS oid) AS integer), NEW.car_rented);
+    IF EXISTS (SELECT 1
+                 FROM bookings b
+                WHERE b.car_rented = NEW.car_rented
+                  AND b.start_date <= NEW.end_date
+                  AND daterange(b.start_date, b.end_date, '[]') && daterange(NEW.start_date, NEW.end_date, '[]')
+                  AND b.id <> NEW.id) THEN
+        RAISE EXCEPTION USING
+            ERRCODE = 'exclusion_violation',
+            CONSTRAINT = 'bookings_no_overlap',
+            MESSAGE = format('Car %s is already booked between %s and %s',
+                             NEW.car_rented, NEW.start_date, NEW.end_date);
+    END IF;
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER bookings_no_overlap
+    BEFORE INSERT OR UPDATE OF car_rented, start_date, end_date ON bookings
+    FOR EACH ROW EXECUTE FUNCTION bookings_check_overlap();
+
+-- Completed rentals moved out of bookings by the archive job (booking.archive.*)
+CREATE TABLE bookings_archive (
+                                  id INTEGER PRIMARY KEY,
+                                  booked_by INTEGER NOT NULL,
+                                  car_rented INTEGER NOT NULL,
+                                  start_date DATE NOT NULL,
+                                  end_date DATE NOT NULL,
+                                  total_cost NUMERIC(10, 2) NOT NULL,
+                                  currency VARCHAR(10) NOT NULL,
+                                  archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+                                  CONSTRAINT fk_archive_booked_by FOREIGN KEY (booked_by) REFERENCES users(id),
+                                  CONSTRAINT fk_archive_car_rented FOREIGN KEY (car_rented) REFERENCES cars(id)
+);
+
+CREATE INDEX bookings_archive_booked_by_id_idx ON bookings_archive (booked_by, id);
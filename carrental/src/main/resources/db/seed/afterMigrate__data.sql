@@ -1,13 +1,17 @@
+-- Demo data, run by Flyway after every migrate when the "seed" profile is active. Only fills empty tables
+
 -- Insert dummy users
 INSERT INTO users (first_name, last_name, username, password, user_role)
-VALUES
+SELECT * FROM (VALUES
     ('John', 'Doe', 'johndoe', 'password123', 'USER'),
     ('Jane', 'Smith', 'admin', 'master', 'ADMIN'),
-    ('Alice', 'Johnson', 'alicej', 'testpass', 'TESTER');
+    ('Alice', 'Johnson', 'alicej', 'testpass', 'TESTER')
+) AS seed (first_name, last_name, username, password, user_role)
+WHERE NOT EXISTS (SELECT 1 FROM users);
 
 -- Insert additional 20 dummy cars
 INSERT INTO cars (make, model, year, color, fuel_type, automatic, price_per_day, pickup_location, available)
-VALUES
+SELECT * FROM (VALUES
     ('Ford', 'Focus', 2022, 'Blue', 'GAS', true, 50.00, 'Rome Airport', true),
     ('Chevrolet', 'Malibu', 2021, 'Black', 'GAS', true, 55.00, 'Paris Central Station', true),
     ('Volkswagen', 'Golf', 2023, 'White', 'GAS', true, 48.00, 'London Downtown', true),
@@ -33,11 +37,16 @@ VALUES
     ('Porsche', '911 Turbo S', 2023, 'Silver', 'GAS', true, 320.00, 'Stuttgart Premium', true),
     ('McLaren', '720S', 2021, 'Orange', 'GAS', true, 380.00, 'London VIP Terminal', true),
     ('Aston Martin', 'DB11', 2022, 'British Racing Green', 'GAS', true, 310.00, 'Paris Luxury Terminal', true),
-    ('Bugatti', 'Chiron', 2023, 'Blue', 'GAS', false, 1000.00, 'Monaco VIP Terminal', true);
+    ('Bugatti', 'Chiron', 2023, 'Blue', 'GAS', false, 1000.00, 'Monaco VIP Terminal', true)
+) AS seed (make, model, year, color, fuel_type, automatic, price_per_day, pickup_location, available)
+WHERE NOT EXISTS (SELECT 1 FROM cars);
 
 -- Insert dummy bookings
 INSERT INTO bookings (booked_by, car_rented, start_date, end_date, total_cost, currency)
-VALUES
-    (1, 2, '2025-04-10', '2025-04-15', 450.00, 'USD'),
-    (2, 3, '2025-04-12', '2025-04-18', 720.00, 'USD'),
-    (3, 1, '2025-04-20', '2025-04-25', 225.00, 'USD');
+SELECT * FROM (VALUES
+    (1, 2, DATE '2025-04-10', DATE '2025-04-15', 450.00, 'USD'),
+    (2, 3, DATE '2025-04-12', DATE '2025-04-18', 720.00, 'USD'),
+    (3, 1, DATE '2025-04-20', DATE '2025-04-25', 225.00, 'USD')
+) AS seed (booked_by, car_rented, start_date, end_date, total_cost, currency)
+WHERE NOT EXISTS (SELECT 1 FROM bookings)
+  AND NOT EXISTS (SELECT 1 FROM bookings_archive);
@@ -0,0 +1,39 @@
+package com.carrental;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class of the tests running the application against a real PostgreSQL database,
+ * migrated by Flyway like in production.
+ * <p>
+ * One container is started for the whole test run and shared by all subclasses, so
+ * subclasses with the same configuration also share one Spring context. Tests must
+ * therefore not rely on data that another test changes. Subclasses add their own
+ * settings with {@code @TestPropertySource} and {@code @ActiveProfiles}. Without Docker
+ * the tests are skipped.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "currency.provider=ecb",
+        "currency.ecb.location=classpath:ecb/eurofxref-daily.xml",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "logging.level.org.springframework.web=INFO"
+})
+public abstract class PostgresIntegrationTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        // started once for the JVM; stopped by Testcontainers when the test run ends
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+}
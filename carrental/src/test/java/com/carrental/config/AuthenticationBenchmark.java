@@ -0,0 +1,96 @@
+package com.carrental.config;
+
+import com.carrental.model.User;
+import com.carrental.model.UserRole;
+import com.carrental.service.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request authentication cost of HTTP Basic – user lookup plus password
+ * check, with the current plain-text encoder and with BCrypt – against verifying a bearer
+ * token issued by {@link TokenService}.
+ * <p>
+ * Users are looked up in memory, so the Basic numbers leave out the database round trip a
+ * real request pays on top, and the bearer numbers the second-level cache lookup of the
+ * token's user. Results are authenticated requests per second and thread.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=AuthenticationBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+
+    private static final String USERNAME = "johndoe";
+    private static final String PASSWORD = "password123";
+
+    /** Compares passwords as stored, like the application's current encoder. */
+    private static final PasswordEncoder PLAIN_TEXT = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    };
+
+    private DaoAuthenticationProvider plainProvider;
+    private DaoAuthenticationProvider bcryptProvider;
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        plainProvider = provider(PLAIN_TEXT);
+        bcryptProvider = provider(new BCryptPasswordEncoder());
+
+        String key = "k1:" + Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+        tokenService = new TokenService(new ObjectMapper(), key, "k1", Duration.ofHours(1));
+        User user = new User("John", "Doe", USERNAME, PASSWORD, UserRole.USER);
+        user.setId(1);
+        token = tokenService.issue(user);
+    }
+
+    @Benchmark
+    public Authentication basicPlainText() {
+        return plainProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD));
+    }
+
+    @Benchmark
+    public Authentication basicBcrypt() {
+        return bcryptProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD));
+    }
+
+    @Benchmark
+    public TokenService.TokenClaims bearerToken() {
+        return tokenService.verify(token).orElseThrow();
+    }
+
+    private static DaoAuthenticationProvider provider(PasswordEncoder encoder) {
+        UserDetails details = new org.springframework.security.core.userdetails.User(
+                USERNAME, encoder.encode(PASSWORD), List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(username -> details);
+        provider.setPasswordEncoder(encoder);
+        return provider;
+    }
+}
@@ -0,0 +1,89 @@
+package com.carrental.config;
+
+import com.carrental.model.User;
+import com.carrental.model.UserRole;
+import com.carrental.repository.UserRepository;
+import com.carrental.service.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BearerTokenAuthenticationFilterTest {
+
+    private static final String KEY = "k1:" + Base64.getEncoder().encodeToString(new byte[32]);
+
+    @Mock
+    private UserRepository userRepo;
+
+    private final TokenService tokenService = new TokenService(new ObjectMapper(), KEY, "k1", Duration.ofHours(1));
+    private BearerTokenAuthenticationFilter filter;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        filter = new BearerTokenAuthenticationFilter(tokenService, userRepo);
+        token = tokenService.issue(user(UserRole.ADMIN));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authorizesWithTheCurrentRoleOfTheUser() throws Exception {
+        when(userRepo.findById(7)).thenReturn(Optional.of(user(UserRole.USER)));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest(), "request should be passed on");
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("johndoe", auth.getName());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), List.copyOf(auth.getAuthorities()));
+    }
+
+    @Test
+    void rejectsTokenOfDeletedUser() throws Exception {
+        when(userRepo.findById(7)).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(), response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest(), "request should not be passed on");
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/cars");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static User user(UserRole role) {
+        User user = new User("John", "Doe", "johndoe", "password123", role);
+        user.setId(7);
+        return user;
+    }
+}
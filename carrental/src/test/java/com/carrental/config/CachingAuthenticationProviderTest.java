@@ -0,0 +1,146 @@
+package com.carrental.config;
+
+import com.carrental.model.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SteppingClock clock = new SteppingClock(Instant.parse("2025-05-01T10:00:00Z"));
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(2), 2, meterRegistry, clock);
+    }
+
+    @Test
+    void repeatedCredentialsSkipTheDelegateUntilExpiry() {
+        when(delegate.authenticate(any())).thenAnswer(inv -> success(inv.getArgument(0)));
+
+        Authentication first = provider.authenticate(request("johndoe", "password123"));
+        Authentication second = provider.authenticate(request("johndoe", "password123"));
+
+        assertTrue(second.isAuthenticated());
+        assertEquals(first.getPrincipal(), second.getPrincipal());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), List.copyOf(second.getAuthorities()));
+        verify(delegate, times(1)).authenticate(any());
+        assertEquals(1.0, meterRegistry.get("auth.basic.cache").tag("result", "hit").counter().count());
+
+        clock.advance(Duration.ofMinutes(2));
+        provider.authenticate(request("johndoe", "password123"));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void wrongPasswordIsNeitherServedFromCacheNorCached() {
+        when(delegate.authenticate(any())).thenAnswer(inv -> {
+            Authentication auth = inv.getArgument(0);
+            if (!"password123".equals(auth.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return success(auth);
+        });
+        provider.authenticate(request("johndoe", "password123"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(request("johndoe", "guess")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(request("johndoe", "guess")));
+        verify(delegate, times(3)).authenticate(any());
+    }
+
+    @Test
+    void changedUserIsAuthenticatedAgain() {
+        when(delegate.authenticate(any())).thenAnswer(inv -> success(inv.getArgument(0)));
+        provider.authenticate(request("johndoe", "password123"));
+        provider.authenticate(request("admin", "master"));
+
+        provider.onUserChanged(new UserChangedEvent(1, "johndoe"));
+        provider.authenticate(request("johndoe", "password123"));
+        provider.authenticate(request("admin", "master"));
+
+        verify(delegate, times(2)).authenticate(argThat(auth -> auth.getName().equals("johndoe")));
+        verify(delegate, times(1)).authenticate(argThat(auth -> auth.getName().equals("admin")));
+    }
+
+    @Test
+    void doesNotGrowBeyondMaxEntries() {
+        when(delegate.authenticate(any())).thenAnswer(inv -> success(inv.getArgument(0)));
+        provider.authenticate(request("a", "pw"));
+        provider.authenticate(request("b", "pw"));
+        provider.authenticate(request("c", "pw"));
+
+        provider.authenticate(request("c", "pw"));
+        verify(delegate, times(2)).authenticate(argThat(auth -> auth.getName().equals("c")));
+
+        clock.advance(Duration.ofMinutes(3));
+        provider.authenticate(request("c", "pw"));
+        provider.authenticate(request("c", "pw"));
+        verify(delegate, times(3)).authenticate(argThat(auth -> auth.getName().equals("c")));
+    }
+
+    private static Authentication request(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+
+    private static Authentication success(Authentication request) {
+        UserDetails user = new User(request.getName(), "{noop}" + request.getCredentials(),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+    }
+
+    /** Clock whose instant can be moved forward by tests. */
+    private static final class SteppingClock extends Clock {
+
+        private Instant now;
+
+        SteppingClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.carrental.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+class ReadOnlyRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(primary.getConnection()).thenReturn(mock(Connection.class, RETURNS_MOCKS));
+        when(replica.getConnection()).thenReturn(mock(Connection.class, RETURNS_MOCKS));
+        ReadOnlyRoutingDataSource routing = new ReadOnlyRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                ReadOnlyRoutingDataSource.PRIMARY, primary,
+                ReadOnlyRoutingDataSource.REPLICA, replica));
+        routing.afterPropertiesSet();
+        dataSource = new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readWriteWorkUsesThePrimary() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+
+        verify(primary, atLeastOnce()).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void readOnlyTransactionUsesTheReplicaEvenIfFlaggedAfterTheConnectionWasTaken() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            // the transaction manager marks the transaction read-only only after begin
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            connection.createStatement();
+        }
+
+        verify(replica).getConnection();
+    }
+}
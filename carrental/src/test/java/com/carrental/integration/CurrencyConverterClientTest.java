@@ -0,0 +1,97 @@
+package com.carrental.integration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrencyConverterClientTest {
+
+    private MutableClock clock;
+    private AtomicInteger soapCalls;
+    /** Holds every SOAP call until counted down; open unless a test closes it. */
+    private CountDownLatch releaseFetch;
+    /** Counted down when a lookup waits for one already running. */
+    private CountDownLatch joinedRunningLookup;
+    private CurrencyConverterClient client;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-05-01T10:00:00Z"));
+        soapCalls = new AtomicInteger();
+        releaseFetch = new CountDownLatch(0);
+        joinedRunningLookup = new CountDownLatch(1);
+        CircuitBreaker breaker = new CircuitBreaker("test", 50, 10, 5, Duration.ofSeconds(30), 1, clock);
+        client = new CurrencyConverterClient("http://localhost/", "u", "p",
+                Duration.ofSeconds(1), Duration.ofSeconds(1), 1, Duration.ZERO,
+                Duration.ofHours(1), Duration.ofHours(24), breaker, new SimpleMeterRegistry(), event -> {}, clock) {
+            @Override
+            BigDecimal fetchRate(String toCurrency) {
+                soapCalls.incrementAndGet();
+                try {
+                    assertTrue(releaseFetch.await(5, TimeUnit.SECONDS), "SOAP call was never released");
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return new BigDecimal("0.9");
+            }
+
+            @Override
+            public BigDecimal await(CompletableFuture<BigDecimal> pending) {
+                if (!pending.isDone()) {
+                    joinedRunningLookup.countDown();
+                }
+                return super.await(pending);
+            }
+        };
+    }
+
+    @Test
+    void usdIsNeverFetched() {
+        assertEquals(new BigDecimal("50"), client.convert(new BigDecimal("50"), "usd"));
+        assertEquals(0, soapCalls.get());
+    }
+
+    @Test
+    void rateIsFetchedOncePerWindow() {
+        assertEquals(0, new BigDecimal("45.0").compareTo(client.convert(new BigDecimal("50"), "EUR")));
+        assertEquals(0, new BigDecimal("90.0").compareTo(client.convert(new BigDecimal("100"), "eur")));
+
+        assertEquals(1, soapCalls.get());
+    }
+
+    @Test
+    void concurrentAsyncConversionsShareOneLookup() throws InterruptedException {
+        releaseFetch = new CountDownLatch(1);
+        CompletableFuture<BigDecimal> first = client.convertAsync(new BigDecimal("10"), "EUR");
+        CompletableFuture<BigDecimal> second = client.convertAsync(new BigDecimal("20"), "EUR");
+
+        // both lookups are registered before the SOAP call returns: one runs it, the other waits
+        assertTrue(joinedRunningLookup.await(5, TimeUnit.SECONDS), "second lookup did not join the first");
+        releaseFetch.countDown();
+
+        assertEquals(0, new BigDecimal("9.0").compareTo(client.await(first)));
+        assertEquals(0, new BigDecimal("18.0").compareTo(client.await(second)));
+        assertEquals(1, soapCalls.get());
+        assertTrue(client.rateForAsync("EUR").isDone());
+    }
+
+    @Test
+    void rateBeyondMaxStaleIsReloadedSynchronously() {
+        client.convert(BigDecimal.TEN, "EUR");
+        clock.advance(Duration.ofHours(26));
+
+        client.convert(BigDecimal.TEN, "EUR");
+
+        assertEquals(2, soapCalls.get());
+    }
+}
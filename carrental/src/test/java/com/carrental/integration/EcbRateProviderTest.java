@@ -0,0 +1,53 @@
+package com.carrental.integration;
+
+import com.carrental.exception.CurrencyConversionException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EcbRateProviderTest {
+
+    private final EcbRateProvider provider =
+            new EcbRateProvider("classpath:ecb/eurofxref-daily.xml", Duration.ofSeconds(1), event -> {});
+
+    @Test
+    void rebasesEuroRatesOntoUsd() {
+        assertEquals(LocalDate.of(2025, 5, 2), provider.ratesDate());
+        assertEquals(0, new BigDecimal("0.8888888888888889").compareTo(provider.rateFor("EUR")));
+        assertEquals(0, new BigDecimal("0.7555555555555556").compareTo(provider.rateFor("gbp")));
+        assertEquals(0, new BigDecimal("75.55555555555556").compareTo(
+                provider.convert(new BigDecimal("100"), "GBP")));
+    }
+
+    @Test
+    void usdPassesThroughAndUnknownCurrencyFails() {
+        assertEquals(new BigDecimal("42"), provider.convert(new BigDecimal("42"), "USD"));
+        assertThrows(CurrencyConversionException.class, () -> provider.rateFor("XYZ"));
+        assertTrue(provider.rateForAsync("XYZ").isCompletedExceptionally());
+    }
+
+    @Test
+    void failedRefreshKeepsPreviousSnapshot() throws Exception {
+        Path file = Files.createTempFile("eurofxref", ".xml");
+        try {
+            Files.copy(getClass().getResourceAsStream("/ecb/eurofxref-daily.xml"), file,
+                    StandardCopyOption.REPLACE_EXISTING);
+            EcbRateProvider fromFile = new EcbRateProvider(file.toString(), Duration.ofSeconds(1), event -> {});
+            BigDecimal before = fromFile.rateFor("JPY");
+
+            Files.writeString(file, "<not-ecb/>");
+            fromFile.refreshRates();
+
+            assertEquals(before, fromFile.rateFor("JPY"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
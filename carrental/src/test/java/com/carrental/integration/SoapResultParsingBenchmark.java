@@ -0,0 +1,67 @@
+package com.carrental.integration;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPMessage;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous SAAJ DOM + XPath response handling (including the
+ * unconditional debug dump) with the streaming {@link SoapResultReader}.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=SoapResultParsing}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SoapResultParsingBenchmark {
+
+    private static final byte[] RESPONSE = """
+            <?xml version='1.0' encoding='UTF-8'?>
+            <soap11env:Envelope xmlns:soap11env="http://schemas.xmlsoap.org/soap/envelope/" \
+            xmlns:tns="spyne.examples.currency">
+            <soap11env:Body><tns:convert_currencyResponse>\
+            <tns:convert_currencyResult>0.9234576</tns:convert_currencyResult>\
+            </tns:convert_currencyResponse></soap11env:Body></soap11env:Envelope>
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private MessageFactory messageFactory;
+    private XPathExpression resultPath;
+
+    @Setup
+    public void setUp() throws Exception {
+        messageFactory = MessageFactory.newInstance();
+        resultPath = XPathFactory.newInstance().newXPath()
+                .compile("//*[local-name()='convert_currencyResult']/text()");
+    }
+
+    @Benchmark
+    public BigDecimal saajDomXPath() throws Exception {
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("Content-Type", "text/xml; charset=utf-8");
+        SOAPMessage message = messageFactory.createMessage(headers, new ByteArrayInputStream(RESPONSE));
+
+        ByteArrayOutputStream dump = new ByteArrayOutputStream();
+        message.writeTo(dump);
+
+        String text = (String) resultPath.evaluate(message.getSOAPBody(), XPathConstants.STRING);
+        return new BigDecimal(text);
+    }
+
+    @Benchmark
+    public BigDecimal staxPullParser() {
+        return SoapResultReader.readResult(new ByteArrayInputStream(RESPONSE));
+    }
+}
@@ -0,0 +1,46 @@
+package com.carrental.integration;
+
+import com.carrental.exception.CurrencyConversionException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoapResultReaderTest {
+
+    private static InputStream xml(String body) {
+        return new ByteArrayInputStream(("""
+                <soap11env:Envelope xmlns:soap11env="http://schemas.xmlsoap.org/soap/envelope/" \
+                xmlns:tns="spyne.examples.currency"><soap11env:Body>%s</soap11env:Body></soap11env:Envelope>
+                """.formatted(body)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readsResultElement() {
+        BigDecimal result = SoapResultReader.readResult(xml(
+                "<tns:convert_currencyResponse><tns:convert_currencyResult>0.92</tns:convert_currencyResult>"
+                        + "</tns:convert_currencyResponse>"));
+
+        assertEquals(new BigDecimal("0.92"), result);
+    }
+
+    @Test
+    void reportsSoapFault() {
+        CurrencyConversionException ex = assertThrows(CurrencyConversionException.class,
+                () -> SoapResultReader.readResult(xml(
+                        "<soap11env:Fault><faultcode>soap11env:Server</faultcode>"
+                                + "<faultstring>Unsupported currency: XYZ</faultstring></soap11env:Fault>")));
+
+        assertTrue(ex.getMessage().contains("Unsupported currency: XYZ"));
+    }
+
+    @Test
+    void rejectsResponseWithoutResult() {
+        assertThrows(CurrencyConversionException.class,
+                () -> SoapResultReader.readResult(xml("<tns:somethingElse/>")));
+    }
+}
@@ -3,9 +3,11 @@ package com.carrental.repository;
 import com.carrental.dto.AvailableCarDto;
 import com.carrental.dto.CarDto;
 import com.carrental.exception.EntityNotFoundException;
-import com.carrental.integration.CurrencyConverterClient;
+import com.carrental.integration.CurrencyConverter;
 import com.carrental.mapper.CarMapper;
 import com.carrental.model.Car;
+import com.carrental.service.AvailabilityIndex;
+import com.carrental.service.CarPriceBook;
 import com.carrental.service.CarService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,7 +34,13 @@ class CarRepositoryTest {
     private CarMapper carMapper;  // Mock the CarMapper
 
     @Mock
-    private CurrencyConverterClient currencyConverterClient;  // Mock the CurrencyConverterClient
+    private CurrencyConverter currencyConverterClient;  // Mock the CurrencyConverter
+
+    @Mock
+    private CarPriceBook priceBook;  // Mock the CarPriceBook
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;  // Mock the AvailabilityIndex
 
     @InjectMocks
     private CarService carService;  // Inject mocks into CarService
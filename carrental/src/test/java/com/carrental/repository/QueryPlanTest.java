@@ -0,0 +1,102 @@
+package com.carrental.repository;
+
+import com.carrental.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the query plans of the availability and overlap queries against the migrated schema:
+ * an index scan, and for the partitioned {@code bookings} table no partition of a later month.
+ * <p>
+ * The seed tables are far too small for the planner to prefer an index on its own, so
+ * sequential scans are disabled for each {@code EXPLAIN}: a plan that still scans a table
+ * sequentially means no index can serve the query.
+ */
+class QueryPlanTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /** A period half a year ahead, so that its monthly partitions exist. */
+    private static final LocalDate FROM = LocalDate.now().withDayOfMonth(1).plusMonths(6).plusDays(13);
+    private static final LocalDate TO = FROM.plusDays(6);
+
+    @Test
+    void overlapCheckUsesGistIndexOfEarlierPartitionsOnly() {
+        String plan = explain("""
+                SELECT 1 FROM bookings b
+                 WHERE b.car_rented = 2 AND b.start_date <= DATE '%s'
+                   AND daterange(b.start_date, b.end_date, '[]') && daterange(DATE '%s', DATE '%s', '[]')
+                """.formatted(TO, FROM, TO));
+        assertIndexScan(plan, "_no_overlap");
+        assertTrue(plan.contains(partition(FROM)), () -> "expected a scan of " + partition(FROM) + " in:\n" + plan);
+        assertTrue(plan.contains(partition(FROM.minusMonths(4))), () -> "expected earlier partitions in:\n" + plan);
+        assertFalse(plan.contains(partition(FROM.plusMonths(1))), () -> "expected later partitions pruned in:\n" + plan);
+    }
+
+    @Test
+    void bookedPeriodsUseCarPeriodIndex() {
+        String plan = explain("""
+                SELECT * FROM bookings b
+                 WHERE b.car_rented = 2 AND b.start_date <= DATE '%s' AND b.end_date >= DATE '%s'
+                """.formatted(TO, FROM));
+        assertIndexScan(plan, "_car_rented_start_date_end_date_idx");
+        assertFalse(plan.contains(partition(FROM.plusMonths(1))), () -> "expected later partitions pruned in:\n" + plan);
+    }
+
+    @Test
+    void bookingsOfUserUseBookedByIndex() {
+        assertIndexScan(explain("SELECT * FROM bookings b WHERE b.booked_by = 1"), "_booked_by_id_idx");
+        assertIndexScan(explain("SELECT * FROM bookings_archive b WHERE b.booked_by = 1"),
+                "bookings_archive_booked_by_id_idx");
+    }
+
+    @Test
+    void availableCarsUseIndexes() {
+        assertNoSeqScan(explain("SELECT * FROM cars c WHERE c.available"));
+
+        String plan = explain("""
+                SELECT * FROM cars c
+                 WHERE c.available
+                   AND NOT EXISTS (SELECT 1 FROM bookings b
+                                    WHERE b.car_rented = c.id
+                                      AND b.start_date <= DATE '%s'
+                                      AND b.end_date >= DATE '%s')
+                """.formatted(TO, FROM));
+        assertIndexScan(plan, "_car_rented_start_date_end_date_idx");
+        assertFalse(plan.contains(partition(FROM.plusMonths(1))), () -> "expected later partitions pruned in:\n" + plan);
+    }
+
+    private static String partition(LocalDate day) {
+        return "bookings_" + day.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+    }
+
+    private String explain(String sql) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+            return String.join("\n", lines);
+        });
+    }
+
+    /** Asserts a scan of the index, or of every partition's index whose name ends with the given suffix. */
+    private static void assertIndexScan(String plan, String index) {
+        assertNoSeqScan(plan);
+        assertTrue(plan.contains(index + " "), () -> "expected a scan of " + index + " in:\n" + plan);
+    }
+
+    private static void assertNoSeqScan(String plan) {
+        assertFalse(plan.contains("Seq Scan"), () -> "expected no sequential scan in:\n" + plan);
+    }
+}
@@ -0,0 +1,70 @@
+package com.carrental.service;
+
+import com.carrental.model.BookingPeriodChangedEvent;
+import com.carrental.repository.BookedPeriod;
+import com.carrental.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityIndexTest {
+
+    private static final LocalDate MAY_1 = LocalDate.of(2025, 5, 1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private AvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(bookingRepository.findAllBookedPeriods()).thenReturn(List.of(
+                new BookedPeriod(1, MAY_1, MAY_1.plusDays(9)),
+                new BookedPeriod(1, MAY_1.plusDays(2), MAY_1.plusDays(3)),
+                new BookedPeriod(1, MAY_1.plusDays(20), MAY_1.plusDays(24))));
+        Clock clock = Clock.fixed(Instant.parse("2025-04-20T08:00:00Z"), ZoneOffset.UTC);
+        index = new AvailabilityIndex(bookingRepository, 30, clock);
+        index.reload();
+    }
+
+    @Test
+    void answersOverlapQueriesFromLoadedPeriods() {
+        assertTrue(index.isLoaded());
+        assertFalse(index.isFree(1, MAY_1.plusDays(5), MAY_1.plusDays(6)), "inside a long booking");
+        assertFalse(index.isFree(1, MAY_1.plusDays(9), MAY_1.plusDays(12)), "touches the last day");
+        assertTrue(index.isFree(1, MAY_1.plusDays(10), MAY_1.plusDays(19)));
+        assertFalse(index.isFree(1, MAY_1.minusDays(5), MAY_1.plusDays(30)));
+        assertTrue(index.isFree(2, MAY_1, MAY_1.plusDays(30)), "car without bookings");
+    }
+
+    @Test
+    void appliesCommittedBookingChanges() {
+        index.onBookingChanged(new BookingPeriodChangedEvent(2, MAY_1, MAY_1.plusDays(1), false));
+        index.onBookingChanged(new BookingPeriodChangedEvent(1, MAY_1, MAY_1.plusDays(9), true));
+
+        assertFalse(index.isFree(2, MAY_1.plusDays(1), MAY_1.plusDays(4)));
+        assertTrue(index.isFree(1, MAY_1.plusDays(5), MAY_1.plusDays(6)));
+        assertFalse(index.isFree(1, MAY_1.plusDays(3), MAY_1.plusDays(6)));
+    }
+
+    @Test
+    void combinesBitmapWithIntervalsBeyondHorizon() {
+        // horizon covers 2025-04-20 .. 2025-05-19, the booking from May 21 lies outside of it
+        assertFalse(index.isFree(1, MAY_1.plusDays(21), MAY_1.plusDays(21)));
+        assertTrue(index.isFree(1, MAY_1.plusDays(25), MAY_1.plusDays(40)));
+        assertEquals(List.of(MAY_1.plusDays(8), MAY_1.plusDays(9), MAY_1.plusDays(20)),
+                index.bookedDays(1, MAY_1.plusDays(8), MAY_1.plusDays(20)));
+    }
+}
@@ -0,0 +1,72 @@
+package com.carrental.service;
+
+import com.carrental.PostgresIntegrationTest;
+import com.carrental.dto.BookingDto;
+import com.carrental.dto.BookingPageDto;
+import com.carrental.exception.EntityNotFoundException;
+import com.carrental.repository.BookingArchiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the archive job against the migrated, partitioned schema: past bookings move to
+ * the archive and stay readable through the archive lookups only.
+ * <p>
+ * The job runs as of a day years back and archives bookings of its own, so the seed
+ * bookings the other database tests rely on stay in place.
+ */
+@ActiveProfiles("seed")
+class BookingArchiverDatabaseTest extends PostgresIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2015, 6, 15);
+    private static final int USER_ID = 2;
+
+    @Autowired
+    private BookingArchiveRepository archiveRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void completedBookingsAreReadFromArchive() {
+        BookingArchiver archiver = new BookingArchiver(archiveRepository, 1, 1, new SimpleMeterRegistry(),
+                Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        int id = insertBooking(1, TODAY.minusMonths(3), TODAY.minusMonths(3).plusDays(4));
+        insertBooking(2, TODAY.minusMonths(4), TODAY.minusMonths(4).plusDays(2));
+        insertBooking(2, TODAY.minusDays(3), TODAY.plusDays(3));
+        BookingDto live = bookingService.getBookingDto(id);
+
+        assertEquals(2, archiver.archive());
+        assertEquals(0, archiver.archive());
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.getBookingDto(id));
+        BookingDto archived = bookingService.getArchivedBookingDto(id);
+        assertEquals(live.carId(), archived.carId());
+        assertEquals(live.startDate(), archived.startDate());
+        assertEquals(0, live.totalCost().compareTo(archived.totalCost()));
+
+        BookingPageDto page = bookingService.getArchivedBookingPageByUser(USER_ID, null, null);
+        assertEquals(2, page.items().size());
+        assertEquals(id, page.items().get(0).id());
+    }
+
+    private int insertBooking(int carId, LocalDate start, LocalDate end) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO bookings (booked_by, car_rented, start_date, end_date, total_cost, currency)
+                VALUES (?, ?, ?, ?, 100, 'USD')
+                RETURNING id
+                """, Integer.class, USER_ID, carId, start, end);
+    }
+}
@@ -0,0 +1,66 @@
+package com.carrental.service;
+
+import com.carrental.repository.BookingArchiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingArchiverTest {
+
+    @Mock
+    private BookingArchiveRepository archiveRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(Instant.parse("2025-06-18T03:30:00Z"), ZoneOffset.UTC);
+        archiver = new BookingArchiver(archiveRepository, 2, 12, meterRegistry, clock);
+    }
+
+    @Test
+    void createsPartitionsOfCurrentAndComingMonths() {
+        when(archiveRepository.createPartition(any())).thenReturn(true, false, true);
+
+        assertEquals(2, archiver.createPartitions());
+        verify(archiveRepository).createPartition(LocalDate.of(2025, 6, 1));
+        verify(archiveRepository).createPartition(LocalDate.of(2025, 7, 1));
+        verify(archiveRepository).createPartition(LocalDate.of(2025, 8, 1));
+        verifyNoMoreInteractions(archiveRepository);
+    }
+
+    @Test
+    void archivesBookingsEndedBeforeCutoffMonth() {
+        when(archiveRepository.archiveEndedBefore(LocalDate.of(2024, 6, 1))).thenReturn(7);
+        when(archiveRepository.dropEmptyPartitions(LocalDate.of(2024, 6, 1))).thenReturn(2);
+
+        assertEquals(7, archiver.archive());
+        assertEquals(7.0, meterRegistry.counter("bookings.archived").count());
+        verify(archiveRepository, times(3)).createPartition(any());
+    }
+
+    @Test
+    void keepsRunningWhenDatabaseFails() {
+        when(archiveRepository.createPartition(any())).thenThrow(new DataAccessResourceFailureException("down"));
+        when(archiveRepository.archiveEndedBefore(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertEquals(0, archiver.archive());
+        verify(archiveRepository, never()).dropEmptyPartitions(any());
+    }
+}
@@ -0,0 +1,121 @@
+package com.carrental.service;
+
+import com.carrental.dto.BookingBatchResultDto;
+import com.carrental.dto.BookingDto;
+import com.carrental.dto.BookingRequestDto;
+import com.carrental.exception.InvalidBookingRequestException;
+import com.carrental.integration.CurrencyConverter;
+import com.carrental.mapper.BookingMapper;
+import com.carrental.model.Booking;
+import com.carrental.model.Car;
+import com.carrental.model.User;
+import com.carrental.repository.BookedPeriod;
+import com.carrental.repository.BookingRepository;
+import com.carrental.repository.CarRepository;
+import com.carrental.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingBatchServiceTest {
+
+    private static final LocalDate MAY_1 = LocalDate.of(2025, 5, 1);
+    private static final LocalDate MAY_5 = LocalDate.of(2025, 5, 5);
+
+    @Mock
+    private BookingRepository bookingRepo;
+
+    @Mock
+    private BookingMapper mapper;
+
+    @Mock
+    private CarRepository carRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private CurrencyConverter currencyClient;
+
+    @Mock
+    private CarBookingLock carBookingLock;
+
+    private BookingBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BookingBatchService(bookingRepo, mapper, carRepo, userRepo, currencyClient, carBookingLock, 10);
+    }
+
+    @Test
+    void reportsOutcomePerEntryAndInsertsAcceptedOnesTogether() {
+        User user = new User("John", "Doe", "johndoe", "password", null);
+        user.setId(1);
+        Car car1 = car(1, "50");
+        Car car2 = car(2, "80");
+        when(userRepo.findAllById(Set.of(1, 2))).thenReturn(List.of(user));
+        when(carRepo.findByIdIn(Set.of(1, 2, 9))).thenReturn(List.of(car1, car2));
+        when(currencyClient.rateForAsync("EUR")).thenReturn(CompletableFuture.completedFuture(new BigDecimal("0.5")));
+        when(currencyClient.await(any())).thenAnswer(inv -> inv.<CompletableFuture<BigDecimal>>getArgument(0).join());
+        when(bookingRepo.findBookedPeriodsOfCars(Set.of(1, 2), MAY_1, MAY_5))
+                .thenReturn(List.of(new BookedPeriod(2, MAY_5, MAY_5)));
+        when(bookingRepo.saveAllAndFlush(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(mapper.toDto(any(Booking.class))).thenAnswer(inv -> {
+            Booking b = inv.getArgument(0);
+            return new BookingDto(null, 1, b.getCarRented().getId(), b.getStartDate(), b.getEndDate(),
+                    b.getTotalCost(), b.getCurrency());
+        });
+
+        List<BookingBatchResultDto> results = service.createBookings(List.of(
+                new BookingRequestDto(1, 1L, MAY_1, MAY_5, "eur"),
+                new BookingRequestDto(1, 1L, MAY_5, MAY_5, "EUR"),
+                new BookingRequestDto(1, 2L, MAY_1, MAY_5, "EUR"),
+                new BookingRequestDto(2, 1L, MAY_1, MAY_5, "EUR"),
+                new BookingRequestDto(1, 9L, MAY_1, MAY_5, "EUR"),
+                new BookingRequestDto(1, 1L, MAY_5, MAY_1, "EUR")));
+
+        assertEquals(List.of(201, 409, 409, 404, 404, 400),
+                results.stream().map(BookingBatchResultDto::status).toList());
+        assertEquals(new BigDecimal("100.0"), results.get(0).booking().totalCost());
+        assertEquals("EUR", results.get(0).booking().currency());
+        assertNull(results.get(1).booking());
+        assertNotNull(results.get(1).error());
+
+        verify(currencyClient, times(1)).rateForAsync("EUR");
+        verify(carBookingLock).lockAllUntilCompletion(Set.of(1, 2));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Booking>> saved = ArgumentCaptor.forClass(List.class);
+        verify(bookingRepo).saveAllAndFlush(saved.capture());
+        assertEquals(1, saved.getValue().size());
+    }
+
+    @Test
+    void rejectsOversizedBatch() {
+        List<BookingRequestDto> requests = Collections.nCopies(11, new BookingRequestDto(1, 1L, MAY_1, MAY_5, "USD"));
+
+        assertThrows(InvalidBookingRequestException.class, () -> service.createBookings(requests));
+        verifyNoInteractions(bookingRepo, userRepo, carRepo);
+    }
+
+    private static Car car(int id, String pricePerDay) {
+        Car car = new Car();
+        car.setId(id);
+        car.setPricePerDay(new BigDecimal(pricePerDay));
+        return car;
+    }
+}
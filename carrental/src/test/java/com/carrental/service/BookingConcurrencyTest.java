@@ -0,0 +1,103 @@
+package com.carrental.service;
+
+import com.carrental.PostgresIntegrationTest;
+import com.carrental.dto.BookingRequestDto;
+import com.carrental.exception.CarNotAvailableException;
+import com.carrental.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires thousands of parallel booking requests at a single car and checks that the
+ * database never accepts two overlapping bookings. The bookings span several monthly
+ * partitions of {@code bookings}, so overlaps across month boundaries are covered too.
+ */
+@ActiveProfiles("seed")
+class BookingConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int CAR_ID = 4;
+    private static final int SLOTS = 100;
+    private static final int ATTEMPTS_PER_SLOT = 20;
+    /** Next month, so that the bookings land in the monthly partitions created ahead. */
+    private static final LocalDate FIRST_DAY = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void overlappingBookingsOfOneCarAreRejected() throws Exception {
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(64)) {
+            for (int attempt = 0; attempt < SLOTS * ATTEMPTS_PER_SLOT; attempt++) {
+                // two-day bookings starting every day, so neighbouring slots overlap as well
+                LocalDate start = FIRST_DAY.plusDays(attempt % SLOTS);
+                BookingRequestDto request = new BookingRequestDto(1, (long) CAR_ID, start, start.plusDays(1), "USD");
+                results.add(pool.submit(() -> {
+                    try {
+                        bookingService.createBooking(request);
+                        booked.incrementAndGet();
+                    } catch (CarNotAvailableException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+
+        var stored = bookingRepository.findBookedPeriodsOfCar(
+                CAR_ID, FIRST_DAY, FIRST_DAY.plusDays(SLOTS + 1));
+        assertEquals(SLOTS * ATTEMPTS_PER_SLOT, booked.get() + rejected.get());
+        assertEquals(booked.get(), stored.size());
+        // every accepted booking blocks at most three start days (its own and both neighbours)
+        assertTrue(booked.get() >= SLOTS / 3, "free slots must not be rejected");
+        for (int i = 0; i < stored.size(); i++) {
+            for (int j = i + 1; j < stored.size(); j++) {
+                boolean overlaps = !stored.get(i).startDate().isAfter(stored.get(j).endDate())
+                        && !stored.get(j).startDate().isAfter(stored.get(i).endDate());
+                assertFalse(overlaps, stored.get(i) + " overlaps " + stored.get(j));
+            }
+        }
+    }
+
+    @Test
+    void overlapAcrossMonthBoundaryIsRejectedWithoutApplicationLock() {
+        LocalDate monthEnd = FIRST_DAY.plusMonths(3).minusDays(1);
+        insertBooking(5, monthEnd.minusDays(2), monthEnd.plusDays(3));
+
+        // starts in the next month's partition and overlaps the booking of the previous month
+        assertThrows(DataIntegrityViolationException.class,
+                () -> insertBooking(5, monthEnd.plusDays(3), monthEnd.plusDays(5)));
+        assertFalse(bookingRepository.existsOverlapping(5, monthEnd.plusDays(4), monthEnd.plusDays(5)));
+    }
+
+    private void insertBooking(int carId, LocalDate start, LocalDate end) {
+        jdbcTemplate.update("""
+                INSERT INTO bookings (booked_by, car_rented, start_date, end_date, total_cost, currency)
+                VALUES (1, ?, ?, ?, 0, 'USD')
+                """, carId, start, end);
+    }
+}
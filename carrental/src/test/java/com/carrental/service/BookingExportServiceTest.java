@@ -0,0 +1,55 @@
+package com.carrental.service;
+
+import com.carrental.dto.BookingDto;
+import com.carrental.repository.BookingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExportServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepo;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void writesOneJsonObjectPerLineAndClosesTheCursor() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(bookingRepo.streamAllAsDtos()).thenReturn(Stream.of(
+                new BookingDto(1, 1, 2, LocalDate.of(2025, 4, 10), LocalDate.of(2025, 4, 15),
+                        new BigDecimal("450.00"), "USD"),
+                new BookingDto(2, 2, 3, LocalDate.of(2025, 4, 12), LocalDate.of(2025, 4, 18),
+                        new BigDecimal("720.00"), "EUR"))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = new BookingExportService(bookingRepo, objectMapper).writeNdjson(out);
+
+        assertEquals(2, count);
+        assertTrue(closed.get(), "the database cursor must be closed");
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        assertEquals("""
+                {"id":1,"userId":1,"carId":2,"startDate":"2025-04-10","endDate":"2025-04-15",\
+                "totalCost":450.00,"currency":"USD"}""", lines[0]);
+        assertEquals(2, objectMapper.readTree(lines[1]).get("id").asInt());
+    }
+}
@@ -0,0 +1,86 @@
+package com.carrental.service;
+
+import com.carrental.PostgresIntegrationTest;
+import com.carrental.dto.BookingPageDto;
+import com.carrental.dto.BookingRequestDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that booking listings are answered with one SQL statement per page and
+ * without hydrating entities or initializing the lazy user and car associations.
+ */
+@ActiveProfiles("seed")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int USER_ID = 1;
+    private static final int BOOKINGS = 25;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingBatchService bookingBatchService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (bookingService.getBookingPageByUser(USER_ID, null, 100).items().size() < BOOKINGS) {
+            List<BookingRequestDto> requests = new ArrayList<>();
+            LocalDate first = LocalDate.of(2031, 1, 1);
+            // cars 6 to 10, clear of the cars the other database tests book
+            for (int i = 0; i < BOOKINGS; i++) {
+                requests.add(new BookingRequestDto(USER_ID, (long) (6 + i % 5),
+                        first.plusDays(i), first.plusDays(i), "USD"));
+            }
+            assertTrue(bookingBatchService.createBookings(requests).stream()
+                    .allMatch(result -> result.status() == 201));
+        }
+        statistics.clear();
+    }
+
+    @Test
+    void everyPageOfAUsersBookingsIsOneStatement() {
+        Integer after = null;
+        int pages = 0;
+        do {
+            BookingPageDto page = bookingService.getBookingPageByUser(USER_ID, after, PAGE_SIZE);
+            pages++;
+            assertEquals(pages, statistics.getPrepareStatementCount(), "statements after page " + pages);
+            after = page.nextCursor();
+        } while (after != null);
+
+        assertTrue(pages >= 3);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void pageOfAllBookingsAndSingleBookingAreOneStatementEach() {
+        BookingPageDto page = bookingService.getBookingPage(null, PAGE_SIZE);
+        assertEquals(PAGE_SIZE, page.items().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        bookingService.getBookingDto(page.items().get(0).id());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
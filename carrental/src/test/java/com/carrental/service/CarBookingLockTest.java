@@ -0,0 +1,78 @@
+package com.carrental.service;
+
+import com.carrental.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CarBookingLockTest {
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void databaseModeUsesAdvisoryLock() {
+        CarBookingLock lock = new CarBookingLock(bookingRepository, "database", 64, meterRegistry);
+
+        lock.lockUntilCompletion(7);
+
+        verify(bookingRepository).lockCarBookings(7);
+    }
+
+    @Test
+    void localModeHoldsStripeUntilTransactionCompletes() throws Exception {
+        CarBookingLock lock = new CarBookingLock(bookingRepository, "local", 64, meterRegistry);
+        TransactionSynchronizationManager.initSynchronization();
+        lock.lockUntilCompletion(7);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> sameCar = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            started.countDown();
+            lock.lockUntilCompletion(7);
+        }));
+        CompletableFuture<Void> otherCar = CompletableFuture.runAsync(() -> inTransaction(
+                () -> lock.lockUntilCompletion(8)));
+
+        otherCar.get(5, TimeUnit.SECONDS);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertFalse(sameCar.isDone(), "same car must wait for the first transaction");
+
+        complete();
+        sameCar.get(5, TimeUnit.SECONDS);
+        assertEquals(1.0, meterRegistry.get("booking.lock.contended").tag("stripe", "7").counter().count());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+        } finally {
+            complete();
+        }
+    }
+
+    private static void complete() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,135 @@
+package com.carrental.service;
+
+import com.carrental.model.Car;
+import com.carrental.model.CarChangedEvent;
+import com.carrental.model.FuelType;
+import com.carrental.repository.CarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CarCatalogueTest {
+
+    @Mock
+    private CarRepository carRepository;
+
+    private CarCatalogue catalogue;
+
+    @BeforeEach
+    void setUp() {
+        when(carRepository.findAll()).thenReturn(List.of(
+                car(1, "Audi", FuelType.GAS, true, 2020, "80.00", "Berlin"),
+                car(2, "Kia", FuelType.HYBRID, true, 2022, "45.50", "Munich"),
+                car(3, "Audi", FuelType.HYBRID, false, 2018, "60.00", "Munich"),
+                car(4, "Fiat", FuelType.GAS, false, 2015, "30.00", "Berlin")));
+
+        catalogue = new CarCatalogue(carRepository, true);
+        assertFalse(catalogue.isLoaded());
+        catalogue.reload();
+    }
+
+    @Test
+    void intersectsFiltersAndCountsFacetsWithoutTheirOwnFilter() {
+        CarCatalogue.Result result = catalogue.search(query(List.of("Audi"), List.of(FuelType.HYBRID), null, null, 0));
+
+        assertTrue(catalogue.isLoaded());
+        assertEquals(1, result.total());
+        assertEquals(3, result.items().get(0).id());
+        assertEquals(Map.of("Audi", 1L, "Kia", 1L), result.facets().get("make"));
+        assertEquals(Map.of("GAS", 1L, "HYBRID", 1L), result.facets().get("fuelType"));
+        assertEquals(Map.of("false", 1L), result.facets().get("automatic"));
+        assertEquals(Map.of("Munich", 1L), result.facets().get("pickupLocation"));
+    }
+
+    @Test
+    void filtersRangesAndPeriodThenSortsAndPages() {
+        IntPredicate free = carId -> carId != 2;
+        CarCatalogue.Result result = catalogue.search(new CarCatalogue.Query(null, null, null, null, 2016, null,
+                null, new BigDecimal("79.995"), free, "year", true, 0, 10));
+        assertEquals(List.of(3), ids(result));
+
+        CarCatalogue.Result firstPage = catalogue.search(query(null, null, null, "pricePerDay", 0));
+        CarCatalogue.Result secondPage = catalogue.search(query(null, null, null, "pricePerDay", 1));
+        assertEquals(4, firstPage.total());
+        assertEquals(List.of(4, 2), ids(firstPage));
+        assertEquals(List.of(3, 1), ids(secondPage));
+        assertEquals(new BigDecimal("45.50"), firstPage.items().get(1).pricePerDay());
+    }
+
+    @Test
+    void listsAvailableCarsPassingTheFreeCheck() {
+        Car booked = car(2, "Kia", FuelType.HYBRID, true, 2022, "45.50", "Munich");
+        booked.setAvailable(false);
+        when(carRepository.findById(2L)).thenReturn(Optional.of(booked));
+        catalogue.onCarChanged(new CarChangedEvent(2, new BigDecimal("45.50")));
+
+        List<CarCatalogue.CatalogueCar> cars = catalogue.available(carId -> carId != 3);
+        assertEquals(List.of(1, 4), cars.stream().map(CarCatalogue.CatalogueCar::id).toList());
+        assertEquals(new BigDecimal("30.00"), cars.get(1).pricePerDay());
+    }
+
+    @Test
+    void updatesChangedCarsIncrementally() {
+        Car booked = car(2, "Kia", FuelType.HYBRID, true, 2022, "45.50", "Munich");
+        booked.setAvailable(false);
+        Car added = car(5, "Volvo", FuelType.HYBRID, true, 2023, "90.00", "Hamburg");
+        when(carRepository.findById(2L)).thenReturn(Optional.of(booked));
+        when(carRepository.findById(5L)).thenReturn(Optional.of(added));
+
+        catalogue.onCarChanged(new CarChangedEvent(2, new BigDecimal("45.50")));
+        catalogue.onCarChanged(new CarChangedEvent(5, new BigDecimal("90.00")));
+        catalogue.onCarChanged(new CarChangedEvent(3, null));
+
+        CarCatalogue.Result result = catalogue.search(query(null, List.of(FuelType.HYBRID), null, null, 0));
+        assertEquals(List.of(5), ids(result));
+        assertEquals(Map.of("Audi", 1L, "Fiat", 1L, "Volvo", 1L),
+                catalogue.search(query(null, null, null, null, 0)).facets().get("make"));
+        verify(carRepository, never()).findById(3L);
+    }
+
+    @Test
+    void staysUnloadedWhenDisabled() {
+        CarCatalogue disabled = new CarCatalogue(carRepository, false);
+        disabled.reload();
+
+        assertFalse(disabled.isLoaded());
+    }
+
+    private static CarCatalogue.Query query(List<String> makes, List<FuelType> fuelTypes, Boolean automatic,
+                                            String sortProperty, int page) {
+        return new CarCatalogue.Query(makes, fuelTypes, automatic, null, null, null, null, null, null,
+                sortProperty == null ? "pricePerDay" : sortProperty, false, page, 2);
+    }
+
+    private static List<Integer> ids(CarCatalogue.Result result) {
+        return result.items().stream().map(CarCatalogue.CatalogueCar::id).toList();
+    }
+
+    private static Car car(int id, String make, FuelType fuelType, boolean automatic, int year, String price,
+                           String location) {
+        Car car = new Car();
+        car.setId(id);
+        car.setMake(make);
+        car.setModel(make + " model");
+        car.setColor("Black");
+        car.setFuelType(fuelType);
+        car.setAutomatic(automatic);
+        car.setYear(year);
+        car.setPricePerDay(new BigDecimal(price));
+        car.setPickupLocation(location);
+        car.setAvailable(true);
+        return car;
+    }
+}
@@ -0,0 +1,71 @@
+package com.carrental.service;
+
+import com.carrental.exception.CurrencyConversionException;
+import com.carrental.integration.CurrencyConverter;
+import com.carrental.integration.ExchangeRatesUpdatedEvent;
+import com.carrental.model.Car;
+import com.carrental.model.CarChangedEvent;
+import com.carrental.repository.CarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CarPriceBookTest {
+
+    @Mock
+    private CarRepository carRepository;
+
+    @Mock
+    private CurrencyConverter currencyConverter;
+
+    private CarPriceBook priceBook;
+    private Car car;
+
+    @BeforeEach
+    void setUp() {
+        car = new Car();
+        car.setId(1);
+        car.setPricePerDay(new BigDecimal("50.00"));
+        when(carRepository.findAll()).thenReturn(List.of(car));
+        when(currencyConverter.rateFor("EUR")).thenReturn(new BigDecimal("0.9"));
+        when(currencyConverter.rateFor("GBP")).thenThrow(new CurrencyConversionException("down"));
+
+        priceBook = new CarPriceBook(carRepository, currencyConverter, List.of("eur", "GBP", "USD"));
+        priceBook.rebuild();
+    }
+
+    @Test
+    void precomputesPricesForResolvableCurrencies() {
+        assertEquals(new BigDecimal("45.00"), priceBook.pricesIn("EUR").priceOf(car.getId(), car.getPricePerDay()));
+        assertNull(priceBook.pricesIn("GBP"));
+        assertNull(priceBook.pricesIn("USD"));
+    }
+
+    @Test
+    void recomputesCurrencyWhenRatesChange() {
+        priceBook.onRatesUpdated(new ExchangeRatesUpdatedEvent(
+                Map.of("EUR", new BigDecimal("0.8"), "GBP", new BigDecimal("0.75"))));
+
+        assertEquals(new BigDecimal("40.00"), priceBook.pricesIn("EUR").priceOf(car.getId(), car.getPricePerDay()));
+        assertEquals(new BigDecimal("37.50"), priceBook.pricesIn("GBP").priceOf(car.getId(), car.getPricePerDay()));
+    }
+
+    @Test
+    void updatesSingleCarWhenItsPriceChanges() {
+        priceBook.onCarChanged(new CarChangedEvent(1, new BigDecimal("60.00")));
+        assertEquals(new BigDecimal("54.00"), priceBook.pricesIn("EUR").byCar().get(1));
+
+        priceBook.onCarChanged(new CarChangedEvent(1, null));
+        assertFalse(priceBook.pricesIn("EUR").byCar().containsKey(1));
+    }
+}
@@ -0,0 +1,11 @@
+package com.carrental.service;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the car searches of {@link CarSearchServiceTest} with the {@link CarCatalogue}
+ * disabled, so that they are answered by the database.
+ */
+@TestPropertySource(properties = "car.catalogue.enabled=false")
+class CarSearchServiceDatabaseTest extends CarSearchServiceTest {
+}
@@ -0,0 +1,96 @@
+package com.carrental.service;
+
+import com.carrental.dto.AvailableCarDto;
+import com.carrental.dto.CarSearchRequestDto;
+import com.carrental.integration.CurrencyConverter;
+import com.carrental.model.Car;
+import com.carrental.model.FuelType;
+import com.carrental.repository.CarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that price bounds given in another currency match the converted prices the
+ * search lists, for a rate that USD prices cannot be recovered from exactly.
+ */
+@ExtendWith(MockitoExtension.class)
+class CarSearchServicePriceBoundsTest {
+
+    /** 80.00 USD lists as 69.86 EUR (rounded down), 45.50 USD as 39.74 EUR (rounded up). */
+    private static final BigDecimal RATE = new BigDecimal("0.8733");
+
+    @Mock
+    private CarRepository carRepository;
+
+    @Mock
+    private CurrencyConverter currencyConverter;
+
+    @Mock
+    private CarPriceBook priceBook;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    private CarSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        when(carRepository.findAll()).thenReturn(List.of(
+                car(1, "80.00"), car(2, "45.50"), car(3, "60.00"), car(4, "30.01")));
+        when(currencyConverter.rateForAsync("EUR")).thenReturn(CompletableFuture.completedFuture(RATE));
+        when(currencyConverter.await(any())).thenCallRealMethod();
+
+        CarCatalogue catalogue = new CarCatalogue(carRepository, true);
+        catalogue.reload();
+        searchService = new CarSearchService(carRepository, currencyConverter, priceBook, catalogue,
+                availabilityIndex, 20, 100);
+    }
+
+    @Test
+    void carListedAtABoundIsFound() {
+        List<AvailableCarDto> all = search(null, null);
+        assertEquals(4, all.size());
+
+        for (AvailableCarDto car : all) {
+            BigDecimal price = car.pricePerDay();
+            assertEquals(List.of(car.id()), ids(search(price, price)), () -> "listed at " + price);
+            assertFalse(ids(search(null, price.subtract(new BigDecimal("0.01")))).contains(car.id()));
+            assertFalse(ids(search(price.add(new BigDecimal("0.01")), null)).contains(car.id()));
+        }
+    }
+
+    private List<AvailableCarDto> search(BigDecimal minPrice, BigDecimal maxPrice) {
+        return searchService.search(new CarSearchRequestDto(null, null, null, null, null, null,
+                minPrice, maxPrice, null, null, "EUR", null, null, null)).items();
+    }
+
+    private static List<Integer> ids(List<AvailableCarDto> cars) {
+        return cars.stream().map(AvailableCarDto::id).toList();
+    }
+
+    private static Car car(int id, String price) {
+        Car car = new Car();
+        car.setId(id);
+        car.setMake("Make " + id);
+        car.setModel("Model");
+        car.setColor("Black");
+        car.setFuelType(FuelType.GAS);
+        car.setAutomatic(true);
+        car.setYear(2022);
+        car.setPricePerDay(new BigDecimal(price));
+        car.setPickupLocation("Berlin");
+        car.setAvailable(true);
+        return car;
+    }
+}
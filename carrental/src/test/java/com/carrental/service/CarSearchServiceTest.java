@@ -0,0 +1,78 @@
+package com.carrental.service;
+
+import com.carrental.PostgresIntegrationTest;
+import com.carrental.dto.AvailableCarDto;
+import com.carrental.dto.CarSearchRequestDto;
+import com.carrental.dto.CarSearchResultDto;
+import com.carrental.exception.InvalidBookingRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs car searches against the seed data of {@code db/seed/afterMigrate__data.sql}.
+ */
+@ActiveProfiles("seed")
+class CarSearchServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CarSearchService searchService;
+
+    @Test
+    void filtersAndCountsFacetsWithoutTheirOwnFilter() {
+        CarSearchResultDto result = searchService.search(
+                request(List.of("hybrid"), null, null, null, null, null, null, null, null));
+
+        assertEquals(3, result.total());
+        assertEquals(List.of("Kia", "Audi", "Volvo"), result.items().stream().map(AvailableCarDto::make).toList());
+        assertEquals(Map.of("GAS", 23L, "HYBRID", 3L), result.facets().get("fuelType"));
+        assertEquals(Map.of("true", 3L), result.facets().get("automatic"));
+        assertEquals(3, result.facets().get("pickupLocation").size());
+    }
+
+    @Test
+    void sortsAndPages() {
+        CarSearchResultDto first = searchService.search(
+                request(null, false, null, null, null, null, "price,desc", 0, 2));
+        CarSearchResultDto second = searchService.search(
+                request(null, false, null, null, null, null, "price,desc", 1, 2));
+
+        assertEquals(5, first.total());
+        assertEquals(List.of("Bugatti", "Subaru"), first.items().stream().map(AvailableCarDto::make).toList());
+        assertEquals(List.of("Peugeot", "Hyundai"), second.items().stream().map(AvailableCarDto::make).toList());
+    }
+
+    @Test
+    void excludesBookedCarsAndFiltersPriceInRequestedCurrency() {
+        CarSearchResultDto free = searchService.search(request(null, null, new BigDecimal("55"), "USD",
+                LocalDate.of(2025, 4, 14), LocalDate.of(2025, 4, 20), "make", null, null));
+        assertEquals(List.of("Fiat", "Hyundai", "Opel", "Peugeot", "Renault", "Skoda", "Suzuki"),
+                free.items().stream().map(AvailableCarDto::make).toList());
+
+        CarSearchResultDto euro = searchService.search(
+                request(null, null, new BigDecimal("45"), "eur", null, null, null, null, null));
+        assertFalse(euro.items().isEmpty());
+        assertTrue(euro.items().stream().allMatch(car ->
+                car.currency().equals("EUR") && car.pricePerDay().compareTo(new BigDecimal("45")) <= 0));
+    }
+
+    @Test
+    void rejectsUnknownSortKey() {
+        assertThrows(InvalidBookingRequestException.class, () -> searchService.search(
+                request(null, null, null, null, null, null, "color", null, null)));
+    }
+
+    private static CarSearchRequestDto request(List<String> fuelType, Boolean automatic, BigDecimal maxPrice,
+                                               String currency, LocalDate from, LocalDate to,
+                                               String sort, Integer page, Integer size) {
+        return new CarSearchRequestDto(null, fuelType, automatic, null, null, null, null, maxPrice,
+                from, to, currency, sort, page, size);
+    }
+}
@@ -0,0 +1,92 @@
+package com.carrental.service;
+
+import com.carrental.PostgresIntegrationTest;
+import com.carrental.dto.CreateUserRequestDto;
+import com.carrental.dto.UpdateUserRequestDto;
+import com.carrental.model.User;
+import com.carrental.repository.CarRepository;
+import com.carrental.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that cars and users are served from the second-level cache and that
+ * changes made through the services are visible immediately afterwards.
+ */
+@ActiveProfiles("seed")
+class SecondLevelCacheTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedUsernameLookupIsServedWithoutSql() {
+        userRepository.findByUsername("alicej");
+        statistics.clear();
+
+        User user = userRepository.findByUsername("alicej").orElseThrow();
+
+        assertEquals("Alice", user.getFirstName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        userRepository.findById(user.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void updatedAndDeletedUsersAreNotServedStale() {
+        Integer id = userService.createUser(
+                new CreateUserRequestDto("Bob", "Miller", "bobm", "secret", "USER")).id();
+        assertEquals("Bob", userRepository.findByUsername("bobm").orElseThrow().getFirstName());
+
+        userService.updateUser(id, new UpdateUserRequestDto("Robert", "Miller", "bobm", null, "USER"));
+        assertEquals("Robert", userRepository.findByUsername("bobm").orElseThrow().getFirstName());
+        assertEquals("Robert", userRepository.findById(id).orElseThrow().getFirstName());
+
+        userService.deleteUser(id);
+        assertTrue(userRepository.findByUsername("bobm").isEmpty());
+        assertTrue(userRepository.findById(id).isEmpty());
+    }
+
+    @Test
+    void bookingAndReturningACarUpdatesTheCachedCar() {
+        carRepository.findById(5L);
+        statistics.clear();
+        assertTrue(carRepository.findById(5L).orElseThrow().isAvailable());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        carService.bookCar(5L);
+        assertFalse(carRepository.findById(5L).orElseThrow().isAvailable());
+
+        carService.returnCar(5L);
+        assertTrue(carRepository.findById(5L).orElseThrow().isAvailable());
+    }
+}
@@ -0,0 +1,76 @@
+package com.carrental.service;
+
+import com.carrental.model.User;
+import com.carrental.model.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final String OLD_KEY = "old:" + Base64.getEncoder().encodeToString(new byte[32]);
+    private static final String NEW_KEY = "new:" + Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+    private static final Clock NOW = Clock.fixed(Instant.parse("2025-05-01T10:00:00Z"), ZoneOffset.UTC);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void verifiesIssuedTokenAndRejectsTamperingAndExpiry() {
+        TokenService service = service(OLD_KEY, "old", NOW);
+        String token = service.issue(user());
+
+        TokenService.TokenClaims claims = service.verify(token).orElseThrow();
+        assertEquals(7, claims.userId());
+        assertEquals("johndoe", claims.username());
+        assertEquals("USER", claims.role());
+        assertEquals(Instant.parse("2025-05-01T11:00:00Z"), claims.expiresAt());
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"johndoe\",\"uid\":7,\"role\":\"ADMIN\",\"exp\":9999999999}".getBytes());
+        assertTrue(service.verify(parts[0] + "." + forgedPayload + "." + parts[2]).isEmpty(), "tampered claims");
+        assertTrue(service.verify(token.substring(0, token.length() - 2)).isEmpty(), "truncated signature");
+        assertTrue(service.verify("not-a-token").isEmpty());
+
+        TokenService later = service(OLD_KEY, "old", Clock.offset(NOW, Duration.ofMinutes(61)));
+        assertTrue(later.verify(token).isEmpty(), "expired");
+    }
+
+    @Test
+    void acceptsTokensOfRetiredKeyUntilItIsRemoved() {
+        String oldToken = service(OLD_KEY, "old", NOW).issue(user());
+
+        TokenService rotated = service(OLD_KEY + "," + NEW_KEY, "new", NOW);
+        String newToken = rotated.issue(user());
+        assertTrue(rotated.verify(oldToken).isPresent());
+        assertTrue(rotated.verify(newToken).isPresent());
+
+        TokenService oldKeyRemoved = service(NEW_KEY, "new", NOW);
+        assertTrue(oldKeyRemoved.verify(oldToken).isEmpty());
+        assertTrue(oldKeyRemoved.verify(newToken).isPresent());
+    }
+
+    @Test
+    void rejectsShortKeysAndUnknownActiveKey() {
+        String shortKey = "k:" + Base64.getEncoder().encodeToString(new byte[16]);
+        assertThrows(IllegalStateException.class, () -> service(shortKey, "k", NOW));
+        assertThrows(IllegalStateException.class, () -> service(OLD_KEY, "missing", NOW));
+    }
+
+    private TokenService service(String keys, String activeKey, Clock clock) {
+        return new TokenService(objectMapper, keys, activeKey, Duration.ofHours(1), clock);
+    }
+
+    private static User user() {
+        User user = new User("John", "Doe", "johndoe", "password123", UserRole.USER);
+        user.setId(7);
+        return user;
+    }
+}